@@ -9,8 +9,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.client.BaseClient;
 import ru.practicum.dto.BookingDto;
+import ru.practicum.dto.BookingState;
 
 import java.util.Map;
+import java.util.Objects;
 
 @Service
 public class BookingClient extends BaseClient {
@@ -26,13 +28,17 @@ public class BookingClient extends BaseClient {
         );
     }
 
-    public ResponseEntity<Object> getBookings(long userId) {
-
-        return get("", userId);
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, String cursor, int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "cursor", Objects.requireNonNullElse(cursor, ""),
+                "size", size
+        );
+        return get("?state={state}&cursor={cursor}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> bookItem(long userId, BookingDto requestDto) {
-        return post("", userId, requestDto);
+    public ResponseEntity<Object> bookItem(long userId, String idempotencyKey, BookingDto requestDto) {
+        return postIdempotent("", userId, idempotencyKey, requestDto);
     }
 
     public ResponseEntity<Object> respondToBooking(long userId, long bookingId, boolean approved) {
@@ -44,10 +50,17 @@ public class BookingClient extends BaseClient {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookingsByOwner(long userId, String state) {
+    public ResponseEntity<Object> getOwnerSummary(long userId) {
+        return get("/owner/summary", userId);
+    }
 
-        Map<String, Object> parameters = Map.of("state", state);
-        return get("/" + userId, userId, parameters);
+    public ResponseEntity<Object> getBookingsByOwner(long userId, BookingState state, String cursor, int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "cursor", Objects.requireNonNullElse(cursor, ""),
+                "size", size
+        );
+        return get("/owner?state={state}&cursor={cursor}&size={size}", userId, parameters);
     }
 
 }
\ No newline at end of file
@@ -1,14 +1,23 @@
 package ru.practicum.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import ru.practicum.client.BaseClient;
 import ru.practicum.dto.BookingDto;
+import ru.practicum.dto.BookingState;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -17,13 +26,16 @@ import ru.practicum.dto.BookingDto;
 @Validated
 public class BookingController {
     private final BookingClient bookingClient;
+    private final BookingStreamClient bookingStreamClient;
 
     @PostMapping
     public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
+                                           @RequestHeader(value = BaseClient.IDEMPOTENCY_KEY_HEADER, required = false)
+                                           @Size(max = 255) String idempotencyKey,
                                            @RequestBody @Valid BookingDto requestDto) {
 
-        log.info("Creating booking for userId={}, request={}", userId, requestDto);
-        return bookingClient.bookItem(userId, requestDto);
+        log.info("Creating booking for userId={}, request={}, idempotencyKey={}", userId, requestDto, idempotencyKey);
+        return bookingClient.bookItem(userId, idempotencyKey, requestDto);
     }
 
     @PatchMapping("/{bookingId}")
@@ -35,6 +47,14 @@ public class BookingController {
         return bookingClient.respondToBooking(userId, bookingId, approved);
     }
 
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public Flux<ServerSentEvent<String>> stream(@RequestHeader("X-Sharer-User-Id") @Positive Long userId) {
+
+        log.info("Subscribing to booking events, userId={}", userId);
+        return bookingStreamClient.stream(userId);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getBookingInfo(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
                                                  @PathVariable @Positive Long bookingId) {
@@ -44,17 +64,34 @@ public class BookingController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") @Positive Long userId) {
+    public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
+                                              @RequestParam(defaultValue = "ALL") String state,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "20") @Positive @Max(100) Integer size) {
+
+        log.info("Get bookings with userId ={}, state={}, cursor={}, size={}", userId, state, cursor, size);
+        return bookingClient.getBookings(userId, toBookingState(state), cursor, size);
+    }
+
+    @GetMapping("/owner/summary")
+    public ResponseEntity<Object> getOwnerSummary(@RequestHeader("X-Sharer-User-Id") @Positive Long userId) {
 
-        log.info("Get bookings with userId ={}", userId);
-        return bookingClient.getBookings(userId);
+        log.info("Get booking summary of owner with userId={}", userId);
+        return bookingClient.getOwnerSummary(userId);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
-                                                     @RequestParam(defaultValue = "ALL") String state) {
+                                                     @RequestParam(defaultValue = "ALL") String state,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "20") @Positive @Max(100) Integer size) {
+
+        log.info("Get bookings by owner with userId ={}, state={}, cursor={}, size={}", userId, state, cursor, size);
+        return bookingClient.getBookingsByOwner(userId, toBookingState(state), cursor, size);
+    }
 
-        log.info("Get bookings by owner with userId ={}", userId);
-        return bookingClient.getBookingsByOwner(userId, state);
+    private static BookingState toBookingState(String state) {
+        return BookingState.from(state)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown state: " + state));
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package ru.practicum.booking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+/**
+ * Relays the server's booking event stream without holding a request thread per subscriber.
+ */
+@Service
+public class BookingStreamClient {
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> EVENT_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final WebClient webClient;
+
+    public BookingStreamClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        this.webClient = builder.baseUrl(serverUrl + "/bookings").build();
+    }
+
+    public Flux<ServerSentEvent<String>> stream(long userId) {
+        return webClient.get()
+                .uri("/stream")
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .retrieve()
+                .bodyToFlux(EVENT_TYPE);
+    }
+}
@@ -11,7 +11,10 @@ import ru.practicum.client.BaseClient;
 import ru.practicum.dto.CommentRequestDto;
 import ru.practicum.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Service
 public class ItemClient extends BaseClient {
@@ -31,8 +34,12 @@ public class ItemClient extends BaseClient {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> addItem(long userId, ItemDto itemDto) {
-        return post("", userId, itemDto);
+    public ResponseEntity<Object> addItem(long userId, String idempotencyKey, ItemDto itemDto) {
+        return postIdempotent("", userId, idempotencyKey, itemDto);
+    }
+
+    public ResponseEntity<Object> addItems(long userId, List<ItemDto> itemDtos) {
+        return post("/batch", userId, itemDtos);
     }
 
     public ResponseEntity<Object> updateItem(long userId, long itemId, ItemDto itemDto) {
@@ -43,9 +50,22 @@ public class ItemClient extends BaseClient {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> search(String text) {
-        Map<String, Object> parameters = Map.of("text", text);
-        return get("/search", null, parameters);
+    public ResponseEntity<Object> search(String text, int from, int size) {
+        Map<String, Object> parameters = Map.of("text", text, "from", from, "size", size);
+        return get("/search?text={text}&from={from}&size={size}", null, parameters);
+    }
+
+    public ResponseEntity<Object> getAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of("from", from, "to", to);
+        return get("/" + itemId + "/availability?from={from}&to={to}", null, parameters);
+    }
+
+    public ResponseEntity<Object> getComments(long itemId, String cursor, int size) {
+        Map<String, Object> parameters = Map.of(
+                "cursor", Objects.requireNonNullElse(cursor, ""),
+                "size", size
+        );
+        return get("/" + itemId + "/comments?cursor={cursor}&size={size}", null, parameters);
     }
 
     public ResponseEntity<Object> comment(long itemId, long userId, CommentRequestDto commentRequest) {
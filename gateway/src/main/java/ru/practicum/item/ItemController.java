@@ -1,17 +1,27 @@
 package ru.practicum.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.client.BaseClient;
 import ru.practicum.dto.CommentRequestDto;
 import ru.practicum.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Controller
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
@@ -28,8 +38,16 @@ public class ItemController {
 
     @PostMapping
     public ResponseEntity<Object> add(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
+                                      @RequestHeader(value = BaseClient.IDEMPOTENCY_KEY_HEADER, required = false)
+                                      @Size(max = 255) String idempotencyKey,
                                       @RequestBody @Valid ItemDto itemDto) {
-        return itemClient.addItem(userId, itemDto);
+        return itemClient.addItem(userId, idempotencyKey, itemDto);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<Object> addAll(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
+                                         @RequestBody @NotEmpty @Size(max = 10_000) List<ItemDto> itemDtos) {
+        return itemClient.addItems(userId, itemDtos);
     }
 
     @PatchMapping("/{itemId}")
@@ -46,9 +64,26 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestParam @NotBlank String text) {
+    public ResponseEntity<Object> search(@RequestParam @NotBlank String text,
+                                         @RequestParam(defaultValue = "0") @PositiveOrZero @Max(10000) Integer from,
+                                         @RequestParam(defaultValue = "20") @Positive @Max(100) Integer size) {
+
+        return itemClient.search(text, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(
+            @PathVariable @Positive Long itemId,
+            @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemClient.getAvailability(itemId, from, to);
+    }
 
-        return itemClient.search(text);
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(@PathVariable @Positive Long itemId,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "20") @Positive @Max(100) Integer size) {
+        return itemClient.getComments(itemId, cursor, size);
     }
 
     @PostMapping("/{itemId}/comment")
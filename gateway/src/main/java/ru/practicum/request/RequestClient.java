@@ -10,6 +10,9 @@ import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.client.BaseClient;
 import ru.practicum.dto.RequestDto;
 
+import java.util.Map;
+import java.util.Objects;
+
 @Service
 public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
@@ -32,11 +35,19 @@ public class RequestClient extends BaseClient {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllRequests() {
-        return get("/all");
+    public ResponseEntity<Object> getAllRequests(long userId, String cursor, int size) {
+        Map<String, Object> parameters = Map.of(
+                "cursor", Objects.requireNonNullElse(cursor, ""),
+                "size", size
+        );
+        return get("/all?cursor={cursor}&size={size}", userId, parameters);
     }
 
     public ResponseEntity<Object> getRequestById(long requestId) {
         return get("/" + requestId,requestId);
     }
+
+    public ResponseEntity<Object> getSuggestions(long requestId, int size) {
+        return get("/" + requestId + "/suggestions?size={size}", null, Map.of("size", size));
+    }
 }
\ No newline at end of file
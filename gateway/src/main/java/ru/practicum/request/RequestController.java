@@ -1,13 +1,17 @@
 package ru.practicum.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import ru.practicum.dto.RequestDto;
 
 @Controller
@@ -17,6 +21,7 @@ import ru.practicum.dto.RequestDto;
 @Validated
 public class RequestController {
     private final RequestClient requestClient;
+    private final RequestStreamClient requestStreamClient;
 
     @PostMapping
     public ResponseEntity<Object> createRequest(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
@@ -31,10 +36,19 @@ public class RequestController {
         return requestClient.getOwnRequests(userId);
     }
 
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public Flux<ServerSentEvent<String>> stream(@RequestHeader("X-Sharer-User-Id") @Positive Long userId) {
+        log.info("Subscribing to request matches, userId={}", userId);
+        return requestStreamClient.stream(userId);
+    }
+
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests() {
-        log.info("Get all requests");
-        return requestClient.getAllRequests();
+    public ResponseEntity<Object> getAllRequests(@RequestHeader("X-Sharer-User-Id") @Positive Long userId,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "20") @Positive @Max(100) Integer size) {
+        log.info("Get all requests with userId ={}, cursor={}, size={}", userId, cursor, size);
+        return requestClient.getAllRequests(userId, cursor, size);
     }
 
     @GetMapping("/{requestId}")
@@ -42,4 +56,11 @@ public class RequestController {
         log.info("Get request with id ={}", requestId);
         return requestClient.getRequestById(requestId);
     }
+
+    @GetMapping("/{requestId}/suggestions")
+    public ResponseEntity<Object> getSuggestions(@PathVariable @Positive Long requestId,
+                                                 @RequestParam(defaultValue = "10") @Positive @Max(100) Integer size) {
+        log.info("Get suggestions for request with id ={}, size={}", requestId, size);
+        return requestClient.getSuggestions(requestId, size);
+    }
 }
@@ -0,0 +1,14 @@
+package ru.practicum.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class AvailabilitySpan {
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private boolean free;
+}
@@ -0,0 +1,177 @@
+package ru.practicum.booking;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hourly busy/free bitmap of every item, built from APPROVED bookings. Bit {@code n} of an item
+ * stands for the hour starting {@code n} hours after {@link #origin}; a booking marks every hour it touches.
+ * Only the window from {@code history-days} back to {@code horizon-days} ahead is kept, so a far-future booking
+ * cannot grow the bitmaps; ranges reaching outside it are answered from the repository. The window moves forward
+ * once a day.
+ */
+@Slf4j
+@Component
+public class BookingCalendar {
+    private final BookingRepository bookingRepository;
+    private final int historyDays;
+    private final int windowHours;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, BitSet> busyHours = new ConcurrentHashMap<>();
+    private LocalDateTime origin;
+
+    public BookingCalendar(BookingRepository bookingRepository,
+                           @Value("${shareit.availability.history-days:31}") int historyDays,
+                           @Value("${shareit.availability.horizon-days:365}") int horizonDays) {
+        this.bookingRepository = bookingRepository;
+        this.historyDays = historyDays;
+        this.windowHours = (historyDays + horizonDays) * 24;
+        this.origin = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).minusDays(historyDays);
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        List<BookingInterval> intervals = bookingRepository.findIntervalsByStatusInAndEndAfter(
+                List.of(BookingStatus.APPROVED), currentOrigin());
+        intervals.forEach(interval -> markBusy(interval.getItemId(), interval.getStart(), interval.getEnd()));
+        log.info("Booking calendar warmed up with {} approved bookings", intervals.size());
+    }
+
+    /**
+     * Moves the window to start {@code history-days} before today, dropping the hours that fell out of it and
+     * marking the approved bookings that reach into the hours that came in.
+     */
+    @Scheduled(cron = "${shareit.availability.slide-cron:0 5 0 * * *}")
+    public void slide() {
+        LocalDateTime next = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).minusDays(historyDays);
+        lock.writeLock().lock();
+        try {
+            long shift = ChronoUnit.HOURS.between(origin, next);
+            if (shift <= 0) {
+                return;
+            }
+            LocalDateTime previousEnd = origin.plusHours(windowHours);
+            origin = next;
+            busyHours.replaceAll((itemId, hours) -> shift >= hours.length()
+                    ? new BitSet() : hours.get((int) shift, hours.length()));
+            busyHours.values().removeIf(BitSet::isEmpty);
+            bookingRepository.findIntervalsByStatusInAndEndAfter(List.of(BookingStatus.APPROVED), previousEnd)
+                    .forEach(interval -> mark(interval.getItemId(), interval.getStart(), interval.getEnd()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Booking calendar window moved to start at {}", next);
+    }
+
+    public void markBusy(Long itemId, LocalDateTime start, LocalDateTime end) {
+        lock.readLock().lock();
+        try {
+            mark(itemId, start, end);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits {@code [from, to)} into alternating free and busy spans.
+     */
+    public List<AvailabilitySpan> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        lock.readLock().lock();
+        try {
+            if (!from.isBefore(origin) && !to.isAfter(origin.plusHours(windowHours))) {
+                int first = hourIndex(origin, from, windowHours);
+                int last = hourIndexRoundingUp(origin, to, windowHours);
+                if (last <= first) {
+                    return new ArrayList<>();
+                }
+                BitSet hours = busyHours.get(itemId);
+                BitSet busy;
+                if (hours == null) {
+                    busy = new BitSet();
+                } else {
+                    synchronized (hours) {
+                        busy = hours.get(first, last);
+                    }
+                }
+                return spans(origin.plusHours(first), busy, last - first, from, to);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        LocalDateTime base = from.truncatedTo(ChronoUnit.HOURS);
+        int count = hourIndexRoundingUp(base, to, Integer.MAX_VALUE);
+        BitSet busy = new BitSet(count);
+        for (BookingInterval interval : bookingRepository.findIntervalsByItemIdAndStatusOverlapping(itemId,
+                BookingStatus.APPROVED, from, to)) {
+            int start = hourIndex(base, interval.getStart(), count);
+            int end = hourIndexRoundingUp(base, interval.getEnd(), count);
+            if (end > start) {
+                busy.set(start, end);
+            }
+        }
+        return spans(base, busy, count, from, to);
+    }
+
+    private void mark(Long itemId, LocalDateTime start, LocalDateTime end) {
+        int from = hourIndex(origin, start, windowHours);
+        int to = hourIndexRoundingUp(origin, end, windowHours);
+        if (to <= from) {
+            return;
+        }
+        BitSet hours = busyHours.computeIfAbsent(itemId, id -> new BitSet());
+        synchronized (hours) {
+            hours.set(from, to);
+        }
+    }
+
+    private LocalDateTime currentOrigin() {
+        lock.readLock().lock();
+        try {
+            return origin;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Spans of the {@code count} hours starting at {@code base}, where bit {@code n} of {@code busy} marks hour
+     * {@code n} busy, clipped to {@code [from, to)}.
+     */
+    private static List<AvailabilitySpan> spans(LocalDateTime base, BitSet busy, int count,
+                                                LocalDateTime from, LocalDateTime to) {
+        List<AvailabilitySpan> spans = new ArrayList<>();
+        int position = 0;
+        while (position < count) {
+            boolean free = !busy.get(position);
+            int next = free ? busy.nextSetBit(position) : busy.nextClearBit(position);
+            int end = next < 0 || next > count ? count : next;
+            LocalDateTime start = base.plusHours(position);
+            LocalDateTime stop = base.plusHours(end);
+            spans.add(new AvailabilitySpan(start.isBefore(from) ? from : start, stop.isAfter(to) ? to : stop, free));
+            position = end;
+        }
+        return spans;
+    }
+
+    private static int hourIndex(LocalDateTime base, LocalDateTime time, int limit) {
+        return (int) Math.max(0, Math.min(limit, ChronoUnit.HOURS.between(base, time)));
+    }
+
+    private static int hourIndexRoundingUp(LocalDateTime base, LocalDateTime time, int limit) {
+        int index = hourIndex(base, time, limit);
+        return index < limit && base.plusHours(index).isBefore(time) ? index + 1 : index;
+    }
+}
@@ -1,44 +1,70 @@
 package ru.practicum.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.idempotency.IdempotencyService;
 
 import java.util.List;
+import java.util.Map;
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/bookings")
 public class BookingController {
     private final BookingService bookingService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
-    public Booking bookItem(@RequestHeader("X-Sharer-User-Id") Long userId,
-                            @RequestBody BookingDto bookingRequest) {
+    public BookingResponseDto bookItem(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                       @RequestHeader(value = IdempotencyService.HEADER, required = false)
+                                       String idempotencyKey,
+                                       @RequestBody BookingDto bookingRequest) {
 
-        return bookingService.createBooking(userId, bookingRequest);
+        return idempotencyService.execute(userId, "create-booking", idempotencyKey, bookingRequest,
+                BookingResponseDto.class, () -> bookingService.createBooking(userId, bookingRequest));
     }
 
     @PatchMapping("/{bookingId}")
-    public Booking respondToBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                    @PathVariable Long bookingId,
-                                    @RequestParam Boolean approved) {
+    public BookingResponseDto respondToBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @PathVariable Long bookingId,
+                                               @RequestParam Boolean approved) {
         return bookingService.respondToBooking(userId, bookingId, approved);
     }
 
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.subscribe(userId);
+    }
+
     @GetMapping("/{bookingId}")
-    public Booking getBookingInfo(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                  @PathVariable Long bookingId) {
+    public BookingResponseDto getBookingInfo(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                             @PathVariable Long bookingId) {
         return bookingService.getBookingInfo(userId, bookingId);
     }
 
     @GetMapping
-    public List<Booking> getBookings(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        return bookingService.getBookings(userId);
+    public ResponseEntity<List<BookingResponseDto>> getBookings(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return bookingService.getBookings(userId, state, cursor, size).toResponseEntity();
+    }
+
+    @GetMapping("/owner/summary")
+    public Map<BookingStatus, Long> getOwnerSummary(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.getOwnerSummary(userId);
     }
 
     @GetMapping("/owner")
-    public List<Booking> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                            @RequestParam(defaultValue = "ALL") String state) {
-        return bookingService.getBookingsByOwner(userId, state);
+    public ResponseEntity<List<BookingResponseDto>> getBookingsByOwner(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return bookingService.getBookingsByOwner(userId, state, cursor, size).toResponseEntity();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package ru.practicum.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BookingEvent {
+    private final BookingResponseDto booking;
+    private final Long ownerId;
+}
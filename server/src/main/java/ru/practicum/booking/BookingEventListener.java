@@ -0,0 +1,23 @@
+package ru.practicum.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.stream.EventStreamRegistry;
+
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class BookingEventListener {
+    static final String EVENT_NAME = "booking";
+
+    private final EventStreamRegistry bookingEventStream;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingEvent event) {
+        BookingResponseDto booking = event.getBooking();
+        bookingEventStream.publish(Stream.of(event.getOwnerId(), booking.getBooker().getId()).distinct().toList(),
+                EVENT_NAME, booking);
+    }
+}
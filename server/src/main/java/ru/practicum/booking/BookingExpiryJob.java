@@ -0,0 +1,110 @@
+package ru.practicum.booking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.job.JobLeaseService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cancels WAITING bookings whose start has passed without an answer from the owner.
+ * Rows are cancelled in chunks of {@code shareit.booking-expiry.chunk-size}, each in its own transaction.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.booking-expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class BookingExpiryJob {
+    static final String LEASE_NAME = "booking-expiry";
+
+    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final JobLeaseService jobLeaseService;
+    private final OwnerBookingCounters ownerBookingCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration leaseDuration;
+    private final Counter expiredCounter;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public BookingExpiryJob(BookingRepository bookingRepository, BookingIntervalIndex bookingIntervalIndex,
+                            JobLeaseService jobLeaseService, OwnerBookingCounters ownerBookingCounters,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${shareit.booking-expiry.chunk-size:500}") int chunkSize,
+                            @Value("${shareit.booking-expiry.lease:PT5M}") Duration leaseDuration) {
+        this.bookingRepository = bookingRepository;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.jobLeaseService = jobLeaseService;
+        this.ownerBookingCounters = ownerBookingCounters;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.leaseDuration = leaseDuration;
+        this.expiredCounter = Counter.builder("shareit.booking.expiry.expired")
+                .description("WAITING bookings cancelled because their start has passed")
+                .register(meterRegistry);
+        Gauge.builder("shareit.booking.expiry.lag", lagSeconds, AtomicLong::get)
+                .description("Age in seconds of the oldest WAITING booking past its start")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${shareit.booking-expiry.initial-delay:PT1M}",
+            fixedDelayString = "${shareit.booking-expiry.interval:PT1M}")
+    public void expireStaleBookings() {
+        if (!jobLeaseService.tryAcquire(LEASE_NAME, leaseDuration)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        long deadline = System.nanoTime() + leaseDuration.toNanos() / 2;
+        int expired = 0;
+        Chunk chunk;
+        do {
+            chunk = expireChunk(now);
+            expired += chunk.cancelled();
+        } while (chunk.fetched() == chunkSize && System.nanoTime() < deadline);
+
+        LocalDateTime oldest = bookingRepository.findEarliestStartByStatusAndStartBefore(BookingStatus.WAITING,
+                LocalDateTime.now());
+        lagSeconds.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toSeconds());
+        if (expired > 0) {
+            log.info("Cancelled {} stale WAITING bookings", expired);
+        }
+    }
+
+    private Chunk expireChunk(LocalDateTime now) {
+        List<BookingInterval> chunk = bookingRepository.findIntervalsByStatusAndStartBefore(BookingStatus.WAITING,
+                now, Limit.of(chunkSize));
+        if (chunk.isEmpty()) {
+            return new Chunk(0, 0);
+        }
+        List<Long> ids = chunk.stream().map(BookingInterval::getBookingId).toList();
+        Set<Long> cancelled = Objects.requireNonNull(transactionTemplate.execute(status -> {
+            bookingRepository.updateStatusByIds(ids, BookingStatus.WAITING, BookingStatus.CANCELED);
+            bookingRepository.countByOwnerForIdsAndStatus(ids, BookingStatus.CANCELED).forEach(owner ->
+                    ownerBookingCounters.move(owner.getOwnerId(), BookingStatus.WAITING, BookingStatus.CANCELED,
+                            owner.getCount()));
+            return Set.copyOf(bookingRepository.findIdsByIdInAndStatus(ids, BookingStatus.CANCELED));
+        }));
+        chunk.stream()
+                .filter(booking -> cancelled.contains(booking.getBookingId()))
+                .forEach(booking -> bookingIntervalIndex.release(booking.getItemId(), booking.getBookingId()));
+        expiredCounter.increment(cancelled.size());
+        return new Chunk(chunk.size(), cancelled.size());
+    }
+
+    private record Chunk(int fetched, int cancelled) {
+    }
+}
@@ -0,0 +1,200 @@
+package ru.practicum.booking;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.exception.ConflictException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory timeline of WAITING and APPROVED bookings per item, used to reject overlapping
+ * booking requests without a range query against the bookings table.
+ * Every item has its own lock, so only bookings of the same item are serialized. Ended bookings are pruned
+ * periodically, and a timeline left empty is dropped.
+ */
+@Slf4j
+@Component
+public class BookingIntervalIndex {
+    static final List<BookingStatus> BLOCKING_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, Timeline> timelines = new ConcurrentHashMap<>();
+
+    public BookingIntervalIndex(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        List<BookingInterval> intervals = bookingRepository.findIntervalsByStatusInAndEndAfter(
+                BLOCKING_STATUSES, LocalDateTime.now());
+        intervals.forEach(interval -> timeline(interval.getItemId())
+                .add(interval.getBookingId(), interval.getStart(), interval.getEnd()));
+        log.info("Booking interval index warmed up with {} bookings", intervals.size());
+    }
+
+    /**
+     * Checks that {@code [start, end)} is free for the item and, while still holding the item lock,
+     * stores the booking produced by {@code writer}. The reservation is dropped again if the surrounding
+     * transaction rolls back.
+     */
+    public Booking reserve(Long itemId, LocalDateTime start, LocalDateTime end, Supplier<Booking> writer) {
+        Timeline timeline = lockTimeline(itemId);
+        try {
+            timeline.prune(LocalDateTime.now());
+            if (timeline.overlaps(start, end)) {
+                throw new ConflictException("Item is already booked for the requested period");
+            }
+            Booking booking = writer.get();
+            timeline.add(booking.getId(), start, end);
+            releaseOnRollback(itemId, booking.getId());
+            return booking;
+        } finally {
+            timeline.lock.unlock();
+        }
+    }
+
+    public void release(Long itemId, Long bookingId) {
+        Timeline timeline = timelines.get(itemId);
+        if (timeline == null) {
+            return;
+        }
+        timeline.lock.lock();
+        try {
+            timeline.remove(bookingId);
+            evictIfEmpty(itemId, timeline);
+        } finally {
+            timeline.lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.bookings.interval-index.prune-interval:PT1H}")
+    public void prune() {
+        LocalDateTime now = LocalDateTime.now();
+        timelines.forEach((itemId, timeline) -> {
+            timeline.lock.lock();
+            try {
+                timeline.prune(now);
+                evictIfEmpty(itemId, timeline);
+            } finally {
+                timeline.lock.unlock();
+            }
+        });
+    }
+
+    int trackedItems() {
+        return timelines.size();
+    }
+
+    private Timeline timeline(Long itemId) {
+        return timelines.computeIfAbsent(itemId, id -> new Timeline());
+    }
+
+    // A timeline may be evicted between the lookup and the lock; only the one still in the map may be changed.
+    private Timeline lockTimeline(Long itemId) {
+        while (true) {
+            Timeline timeline = timeline(itemId);
+            timeline.lock.lock();
+            if (timelines.get(itemId) == timeline) {
+                return timeline;
+            }
+            timeline.lock.unlock();
+        }
+    }
+
+    private void evictIfEmpty(Long itemId, Timeline timeline) {
+        if (timeline.slots.isEmpty()) {
+            timelines.remove(itemId, timeline);
+        }
+    }
+
+    private void releaseOnRollback(Long itemId, Long bookingId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(itemId, bookingId);
+                }
+            }
+        });
+    }
+
+    private static final class Timeline {
+        private static final Comparator<Slot> ORDER = Comparator.comparing(Slot::start)
+                .thenComparing(Slot::bookingId);
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final NavigableMap<Slot, LocalDateTime> slots = new TreeMap<>(ORDER);
+        private final Map<Long, Slot> slotsByBooking = new HashMap<>();
+        private final NavigableMap<Duration, Integer> lengths = new TreeMap<>();
+
+        // Any slot overlapping [start, end) must begin after start - longest, so only that range is scanned.
+        boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            Slot from = new Slot(start.minus(longest()), Long.MIN_VALUE);
+            Slot to = new Slot(end, Long.MIN_VALUE);
+            for (Map.Entry<Slot, LocalDateTime> entry : slots.subMap(from, true, to, false).entrySet()) {
+                if (entry.getValue().isAfter(start)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void add(Long bookingId, LocalDateTime start, LocalDateTime end) {
+            Slot slot = new Slot(start, bookingId);
+            LocalDateTime previous = slots.put(slot, end);
+            if (previous != null) {
+                forgetLength(Duration.between(start, previous));
+            }
+            slotsByBooking.put(bookingId, slot);
+            lengths.merge(Duration.between(start, end), 1, Integer::sum);
+        }
+
+        void remove(Long bookingId) {
+            Slot slot = slotsByBooking.remove(bookingId);
+            if (slot != null) {
+                forgetLength(Duration.between(slot.start(), slots.remove(slot)));
+            }
+        }
+
+        void prune(LocalDateTime now) {
+            Iterator<Map.Entry<Slot, LocalDateTime>> expired = slots
+                    .headMap(new Slot(now.minus(longest()), Long.MIN_VALUE)).entrySet().iterator();
+            while (expired.hasNext()) {
+                Map.Entry<Slot, LocalDateTime> entry = expired.next();
+                slotsByBooking.remove(entry.getKey().bookingId());
+                forgetLength(Duration.between(entry.getKey().start(), entry.getValue()));
+                expired.remove();
+            }
+        }
+
+        private Duration longest() {
+            return lengths.isEmpty() ? Duration.ZERO : lengths.lastKey();
+        }
+
+        private void forgetLength(Duration length) {
+            lengths.computeIfPresent(length, (key, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    private record Slot(LocalDateTime start, Long bookingId) {
+    }
+}
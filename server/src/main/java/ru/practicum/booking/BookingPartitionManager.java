@@ -0,0 +1,165 @@
+package ru.practicum.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.job.JobLeaseService;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly {@code end_date} range partitions of the PostgreSQL {@code bookings} table:
+ * creates partitions ahead of time, detaches partitions older than the archive horizon into the
+ * {@code bookings_archive} schema, and converts a table created before partitioning was introduced.
+ * Rows outside every monthly partition land in {@code bookings_default} and are moved out when their
+ * month's partition is created.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.sql.init.platform", havingValue = "postgresql")
+public class BookingPartitionManager {
+    static final String LEASE_NAME = "booking-partitions";
+    static final String SCHEMA = "schema-bookings-postgresql.sql";
+    private static final String COLUMNS = "id, start_date, end_date, item_id, booker_id, status, version";
+    private static final String ARCHIVE_SCHEMA = "bookings_archive";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("bookings_p(\\d{4})_(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLeaseService jobLeaseService;
+    private final int monthsAhead;
+    private final int archiveAfterMonths;
+
+    public BookingPartitionManager(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                   JobLeaseService jobLeaseService,
+                                   @Value("${shareit.bookings.partitions.months-ahead:3}") int monthsAhead,
+                                   @Value("${shareit.bookings.partitions.archive-after-months:0}")
+                                   int archiveAfterMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.jobLeaseService = jobLeaseService;
+        this.monthsAhead = monthsAhead;
+        this.archiveAfterMonths = archiveAfterMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${shareit.bookings.partitions.cron:0 30 3 * * *}")
+    public void maintain() {
+        if (!jobLeaseService.tryAcquire(LEASE_NAME, Duration.ofMinutes(30))) {
+            return;
+        }
+        try {
+            YearMonth current = YearMonth.now();
+            if (isUnpartitioned()) {
+                migrateUnpartitionedTable(current);
+            } else {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS bookings_default PARTITION OF bookings DEFAULT");
+                ensurePartitions(current.minusMonths(1), current.plusMonths(monthsAhead));
+            }
+            if (archiveAfterMonths > 0) {
+                archivePartitionsBefore(current.minusMonths(archiveAfterMonths));
+            }
+        } finally {
+            jobLeaseService.release(LEASE_NAME);
+        }
+    }
+
+    private boolean isUnpartitioned() {
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT c.relkind FROM pg_class c WHERE c.oid = to_regclass('bookings')", String.class);
+        return "r".equals(kind);
+    }
+
+    private void migrateUnpartitionedTable(YearMonth current) {
+        log.warn("Converting the bookings table to a partitioned table, this locks it until the copy is done");
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE bookings RENAME TO bookings_unpartitioned");
+            jdbcTemplate.queryForList("SELECT indexname FROM pg_indexes WHERE schemaname = current_schema() " +
+                            "AND tablename = 'bookings_unpartitioned'", String.class)
+                    .forEach(index -> jdbcTemplate.execute("ALTER INDEX " + index + " RENAME TO " + index + "_old"));
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                ScriptUtils.executeSqlScript(connection, new ClassPathResource(SCHEMA));
+                return null;
+            });
+            jdbcTemplate.execute("CREATE TABLE bookings_default PARTITION OF bookings DEFAULT");
+
+            LocalDateTime earliest = jdbcTemplate.queryForObject(
+                    "SELECT MIN(end_date) FROM bookings_unpartitioned", LocalDateTime.class);
+            YearMonth from = earliest == null ? current.minusMonths(1) : YearMonth.from(earliest);
+            ensurePartitions(from.isAfter(current.minusMonths(1)) ? current.minusMonths(1) : from,
+                    current.plusMonths(monthsAhead));
+
+            int copied = jdbcTemplate.update("INSERT INTO bookings (" + COLUMNS + ") SELECT " + COLUMNS +
+                    " FROM bookings_unpartitioned");
+            jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence('bookings', 'id'), " +
+                    "(SELECT COALESCE(MAX(id), 0) + 1 FROM bookings), false)", Long.class);
+            jdbcTemplate.execute("DROP TABLE bookings_unpartitioned");
+            log.info("Moved {} bookings into the partitioned bookings table", copied);
+        });
+    }
+
+    private void ensurePartitions(YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            ensurePartition(month);
+        }
+    }
+
+    private void ensurePartition(YearMonth month) {
+        String name = "bookings_p" + month.format(SUFFIX);
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(CAST(? AS text)) IS NOT NULL",
+                Boolean.class, name);
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.plusMonths(1).atDay(1);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE bookings INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            jdbcTemplate.update("WITH moved AS (DELETE FROM bookings_default WHERE end_date >= ? AND end_date < ? " +
+                            "RETURNING " + COLUMNS + ") INSERT INTO " + name + " (" + COLUMNS + ") SELECT " +
+                            COLUMNS + " FROM moved",
+                    start.atStartOfDay(), end.atStartOfDay());
+            jdbcTemplate.execute("ALTER TABLE bookings ATTACH PARTITION " + name +
+                    " FOR VALUES FROM ('" + start + "') TO ('" + end + "')");
+        });
+        log.info("Created bookings partition {}", name);
+    }
+
+    private void archivePartitionsBefore(YearMonth horizon) {
+        List<String> partitions = jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass('bookings')", String.class);
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(horizon)) {
+                continue;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + ARCHIVE_SCHEMA);
+                jdbcTemplate.execute("ALTER TABLE bookings DETACH PARTITION " + partition);
+                jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + ARCHIVE_SCHEMA);
+            });
+            log.info("Archived bookings partition {} to schema {}", partition, ARCHIVE_SCHEMA);
+        }
+    }
+}
@@ -1,15 +1,49 @@
 package ru.practicum.booking;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    @Query("SELECT b FROM Booking b WHERE b.booker.id = :userId ORDER BY b.start DESC")
-    List<Booking> findBookingsByUserId(@Param("userId") Long userId);
+    String VIEW = "SELECT new ru.practicum.booking.BookingResponseDto(b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, u.id, u.name) FROM Booking b JOIN b.item i JOIN b.booker u ";
+
+    @Query(VIEW + "WHERE b.booker.id = :userId " +
+            "AND (b.start, b.id) < (:cursorStart, :cursorId) ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findBookingsByUserId(@Param("userId") Long userId,
+                                                  @Param("cursorStart") LocalDateTime cursorStart,
+                                                  @Param("cursorId") Long cursorId, Limit limit);
+
+    @Query(VIEW + "WHERE b.booker.id = :userId AND b.status = :status " +
+            "AND (b.start, b.id) < (:cursorStart, :cursorId) ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findBookingsByUserIdAndStatus(@Param("userId") Long userId,
+                                                           @Param("status") BookingStatus status,
+                                                           @Param("cursorStart") LocalDateTime cursorStart,
+                                                           @Param("cursorId") Long cursorId, Limit limit);
+
+    @Query(VIEW + "WHERE b.booker.id = :userId AND b.start <= :now AND b.end > :now " +
+            "AND (b.start, b.id) < (:cursorStart, :cursorId) ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findCurrentBookingsByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                                         @Param("cursorId") Long cursorId, Limit limit);
+
+    @Query(VIEW + "WHERE b.booker.id = :userId AND b.end <= :now " +
+            "AND (b.start, b.id) < (:cursorStart, :cursorId) ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findPastBookingsByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                                      @Param("cursorStart") LocalDateTime cursorStart,
+                                                      @Param("cursorId") Long cursorId, Limit limit);
+
+    @Query(VIEW + "WHERE b.booker.id = :userId AND b.start > :now AND b.end > :now " +
+            "AND (b.start, b.id) < (:cursorStart, :cursorId) ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findFutureBookingsByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                                        @Param("cursorStart") LocalDateTime cursorStart,
+                                                        @Param("cursorId") Long cursorId, Limit limit);
 
     @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END " +
             "FROM Booking b WHERE b.item.id = :itemId AND b.booker.id = :userId " +
@@ -17,20 +51,100 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     boolean existsByItemIdAndBookerIdAndStatusAndEndDateBefore(Long itemId, Long userId,
                                                                BookingStatus status, LocalDateTime currentDate);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.id = :itemId AND b.end < :currentDate " +
-            "AND b.status = :status ORDER BY b.end DESC")
-    Booking findFirstByItemIdAndEndBeforeAndStatusOrderByEndDesc(
-            Long itemId, LocalDateTime currentDate, BookingStatus status);
+    @Query(value = "SELECT t.item_id AS itemId, t.start_date AS startDate, t.end_date AS endDate, t.kind AS kind " +
+            "FROM (SELECT b.item_id, b.start_date, b.end_date, 'LAST' AS kind, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.end_date DESC) AS rn " +
+            "FROM bookings b WHERE b.item_id IN (:itemIds) AND b.status = 'APPROVED' AND b.end_date < :now " +
+            "UNION ALL " +
+            "SELECT b.item_id, b.start_date, b.end_date, 'NEXT' AS kind, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date ASC) AS rn " +
+            "FROM bookings b WHERE b.item_id IN (:itemIds) AND b.status = 'APPROVED' AND b.start_date > :now " +
+            "AND b.end_date > :now) t " +
+            "WHERE t.rn = 1", nativeQuery = true)
+    List<ItemBookingView> findLastAndNextApprovedBookings(@Param("itemIds") Collection<Long> itemIds,
+                                                          @Param("now") LocalDateTime now);
+
+    @Query("SELECT MIN(b.end) FROM Booking b WHERE b.item.id = :itemId AND b.status = :status " +
+            "AND b.start <= :now AND b.end > :now")
+    LocalDateTime findEarliestEndByItemIdAndStatusAt(@Param("itemId") Long itemId,
+                                                     @Param("status") BookingStatus status,
+                                                     @Param("now") LocalDateTime now);
+
+    @Query(VIEW + "WHERE i.owner.id = :userId " +
+            "AND (b.start, b.id) < (:cursorStart, :cursorId) ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findBookingsByOwner(@Param("userId") Long userId,
+                                                 @Param("cursorStart") LocalDateTime cursorStart,
+                                                 @Param("cursorId") Long cursorId, Limit limit);
+
+    @Query(VIEW + "WHERE i.owner.id = :userId AND b.status = :status " +
+            "AND (b.start, b.id) < (:cursorStart, :cursorId) ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findBookingsByOwnerAndStatus(@Param("userId") Long userId,
+                                                          @Param("status") BookingStatus status,
+                                                          @Param("cursorStart") LocalDateTime cursorStart,
+                                                          @Param("cursorId") Long cursorId, Limit limit);
+
+    @Query(VIEW + "WHERE i.owner.id = :userId AND b.start <= :now AND b.end > :now " +
+            "AND (b.start, b.id) < (:cursorStart, :cursorId) ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findCurrentBookingsByOwner(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                                        @Param("cursorStart") LocalDateTime cursorStart,
+                                                        @Param("cursorId") Long cursorId, Limit limit);
+
+    @Query(VIEW + "WHERE i.owner.id = :userId AND b.end <= :now " +
+            "AND (b.start, b.id) < (:cursorStart, :cursorId) ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findPastBookingsByOwner(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                                     @Param("cursorStart") LocalDateTime cursorStart,
+                                                     @Param("cursorId") Long cursorId, Limit limit);
+
+    @Query(VIEW + "WHERE i.owner.id = :userId AND b.start > :now AND b.end > :now " +
+            "AND (b.start, b.id) < (:cursorStart, :cursorId) ORDER BY b.start DESC, b.id DESC")
+    List<BookingResponseDto> findFutureBookingsByOwner(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                                       @Param("cursorId") Long cursorId, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 " +
+            "WHERE b.id = :bookingId AND b.status = :expected AND b.version = :version")
+    int updateStatus(@Param("bookingId") Long bookingId, @Param("expected") BookingStatus expected,
+                     @Param("version") Long version, @Param("status") BookingStatus status);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 " +
+            "WHERE b.id IN :ids AND b.status = :expected")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("expected") BookingStatus expected,
+                          @Param("status") BookingStatus status);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.id IN :ids AND b.status = :status")
+    List<Long> findIdsByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") BookingStatus status);
+
+    @Query("SELECT new ru.practicum.booking.OwnerBookingCount(i.owner.id, COUNT(b)) FROM Booking b JOIN b.item i " +
+            "WHERE b.id IN :ids AND b.status = :status GROUP BY i.owner.id")
+    List<OwnerBookingCount> countByOwnerForIdsAndStatus(@Param("ids") Collection<Long> ids,
+                                                        @Param("status") BookingStatus status);
+
+    @Query("SELECT new ru.practicum.booking.OwnerBookingCounter(i.owner.id, b.status, COUNT(b)) " +
+            "FROM Booking b JOIN b.item i WHERE i.owner.id = :ownerId GROUP BY i.owner.id, b.status")
+    List<OwnerBookingCounter> countByStatusForOwner(@Param("ownerId") Long ownerId);
+
+    @Query("SELECT new ru.practicum.booking.BookingInterval(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking b WHERE b.status = :status AND b.start < :currentDate ORDER BY b.start")
+    List<BookingInterval> findIntervalsByStatusAndStartBefore(@Param("status") BookingStatus status,
+                                                              @Param("currentDate") LocalDateTime currentDate,
+                                                              Limit limit);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.id = :itemId AND b.start > :currentDate " +
-            "AND b.status = :status ORDER BY b.start ASC")
-    Booking findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(
-            Long itemId, LocalDateTime currentDate, BookingStatus status);
+    @Query("SELECT MIN(b.start) FROM Booking b WHERE b.status = :status AND b.start < :currentDate")
+    LocalDateTime findEarliestStartByStatusAndStartBefore(@Param("status") BookingStatus status,
+                                                          @Param("currentDate") LocalDateTime currentDate);
 
-    @Query("SELECT b FROM Booking b JOIN b.item i WHERE i.owner = :userId AND b.status = :status ORDER BY b.start DESC")
-    List<Booking> findBookingsByOwnerAndStatus(@Param("userId") Long userId, @Param("status") BookingStatus status);
+    @Query("SELECT new ru.practicum.booking.BookingInterval(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking b WHERE b.status IN :statuses AND b.end > :currentDate")
+    List<BookingInterval> findIntervalsByStatusInAndEndAfter(@Param("statuses") Collection<BookingStatus> statuses,
+                                                             @Param("currentDate") LocalDateTime currentDate);
 
-    @Query("SELECT b FROM Booking b JOIN b.item i WHERE i.owner = :userId ORDER BY b.start DESC")
-    List<Booking> findBookingsByOwner(@Param("userId") Long userId);
+    @Query("SELECT new ru.practicum.booking.BookingInterval(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking b WHERE b.item.id = :itemId AND b.status = :status AND b.start < :to AND b.end > :from")
+    List<BookingInterval> findIntervalsByItemIdAndStatusOverlapping(@Param("itemId") Long itemId,
+                                                                    @Param("status") BookingStatus status,
+                                                                    @Param("from") LocalDateTime from,
+                                                                    @Param("to") LocalDateTime to);
 
-}
\ No newline at end of file
+}
@@ -1,39 +1,66 @@
 package ru.practicum.booking;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.exception.ConflictException;
 import ru.practicum.exception.InvalidBookingException;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.exception.ValidationException;
 import ru.practicum.item.Item;
 import ru.practicum.item.ItemRepository;
+import ru.practicum.pagination.Cursor;
+import ru.practicum.pagination.KeysetPage;
+import ru.practicum.stream.EventStreamRegistry;
 import ru.practicum.user.User;
-import ru.practicum.user.UserRepository;
+import ru.practicum.user.UserCache;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class BookingService {
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final ItemRepository itemRepository;
-
-    public BookingService(BookingRepository bookingRepository, UserRepository userRepository,
-                          ItemRepository itemRepository) {
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingCalendar bookingCalendar;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EventStreamRegistry bookingEventStream;
+    private final OwnerBookingCounters ownerBookingCounters;
+
+    public BookingService(BookingRepository bookingRepository, UserCache userCache,
+                          ItemRepository itemRepository, BookingIntervalIndex bookingIntervalIndex,
+                          BookingCalendar bookingCalendar, ApplicationEventPublisher eventPublisher,
+                          EventStreamRegistry bookingEventStream, OwnerBookingCounters ownerBookingCounters) {
         this.bookingRepository = bookingRepository;
-        this.userRepository = userRepository;
+        this.userCache = userCache;
         this.itemRepository = itemRepository;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.bookingCalendar = bookingCalendar;
+        this.eventPublisher = eventPublisher;
+        this.bookingEventStream = bookingEventStream;
+        this.ownerBookingCounters = ownerBookingCounters;
     }
 
     @Transactional
-    public Booking createBooking(Long userId, BookingDto bookingRequest) {
-        User user = userRepository.findById(userId)
+    public BookingResponseDto createBooking(Long userId, BookingDto bookingRequest) {
+        User user = userCache.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
         Item item = itemRepository.findById(bookingRequest.getItemId())
                 .orElseThrow(() -> new NotFoundException("Item not found"));
         if (!item.getAvailable()) {
             throw new ValidationException("Item is not available");
         }
+        if (bookingRequest.getStart() == null || bookingRequest.getEnd() == null
+                || !bookingRequest.getStart().isBefore(bookingRequest.getEnd())) {
+            throw new ValidationException("Booking start must be before its end");
+        }
 
         Booking booking = new Booking();
         booking.setItem(item);
@@ -42,59 +69,151 @@ public class BookingService {
         booking.setEnd(bookingRequest.getEnd());
         booking.setStatus(BookingStatus.WAITING);
 
-        return bookingRepository.save(booking);
+        Booking saved = bookingIntervalIndex.reserve(item.getId(), booking.getStart(), booking.getEnd(),
+                () -> userCache.write(userId, () -> bookingRepository.save(booking)));
+        ownerBookingCounters.add(item.getOwner().getId(), BookingStatus.WAITING, 1);
+        BookingResponseDto response = toBookingResponseDto(saved);
+        eventPublisher.publishEvent(new BookingEvent(response, item.getOwner().getId()));
+        return response;
     }
 
-    public Booking respondToBooking(Long userId, Long bookingId, Boolean approved) {
+    @Transactional
+    public BookingResponseDto respondToBooking(Long userId, Long bookingId, Boolean approved) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Booking not found"));
-        User user = userRepository.findById(userId)
+        User user = userCache.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         Item item = booking.getItem();
 
-        if (!item.getOwner().equals(user)) {
+        if (!item.getOwner().getId().equals(user.getId())) {
             throw new InvalidBookingException("Only the owner of the item can respond to the booking");
         }
 
-        if (booking.getStatus() == BookingStatus.APPROVED || booking.getStatus() == BookingStatus.REJECTED) {
-            throw new InvalidBookingException("Booking has already been responded to");
+        if (booking.getStatus() != BookingStatus.WAITING) {
+            throw new InvalidBookingException("Booking is no longer awaiting approval, its status is "
+                    + booking.getStatus());
         }
 
-        if (approved) {
-            booking.setStatus(BookingStatus.APPROVED);
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        if (bookingRepository.updateStatus(bookingId, BookingStatus.WAITING, booking.getVersion(), status) == 0) {
+            throw new ConflictException("Booking has been changed concurrently, reload it and try again");
+        }
+        booking.setStatus(status);
+        booking.setVersion(booking.getVersion() + 1);
+        ownerBookingCounters.move(user.getId(), BookingStatus.WAITING, status, 1);
+        Long itemId = item.getId();
+        if (booking.getStatus() == BookingStatus.APPROVED) {
+            LocalDateTime start = booking.getStart();
+            LocalDateTime end = booking.getEnd();
+            afterCommit(() -> bookingCalendar.markBusy(itemId, start, end));
         } else {
-            booking.setStatus(BookingStatus.REJECTED);
+            afterCommit(() -> bookingIntervalIndex.release(itemId, bookingId));
         }
 
-        bookingRepository.save(booking);
-
-        return booking;
+        BookingResponseDto response = toBookingResponseDto(booking);
+        eventPublisher.publishEvent(new BookingEvent(response, user.getId()));
+        return response;
     }
 
-    public Booking getBookingInfo(Long userId, Long bookingId) {
-        User user = userRepository.findById(userId)
+    public BookingResponseDto getBookingInfo(Long userId, Long bookingId) {
+        User user = userCache.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
         Item item = booking.getItem();
-        if (!(booking.getBooker().equals(user) || item.getOwner().equals(user))) {
+        if (!(booking.getBooker().getId().equals(user.getId()) || item.getOwner().getId().equals(user.getId()))) {
             throw new IllegalArgumentException("Only the owner and the booker of the item can respond to the booking");
         }
 
-        return booking;
+        return toBookingResponseDto(booking);
     }
 
-    public List<Booking> getBookings(Long userId) {
-        return bookingRepository.findBookingsByUserId(userId);
+    public Map<BookingStatus, Long> getOwnerSummary(Long userId) {
+        if (!userCache.existsById(userId)) {
+            throw new NotFoundException("User not found");
+        }
+        return ownerBookingCounters.getCounts(userId);
     }
 
-    public List<Booking> getBookingsByOwner(Long userId, String state) {
-        BookingStatus bookingStatus = BookingStatus.valueOf(state);
+    public SseEmitter subscribe(Long userId) {
+        if (!userCache.existsById(userId)) {
+            throw new NotFoundException("User not found");
+        }
+        return bookingEventStream.subscribe(userId);
+    }
 
-        if (state.equals("ALL")) {
-            return bookingRepository.findBookingsByOwner(userId);
-        } else {
-            return bookingRepository.findBookingsByOwnerAndStatus(userId, bookingStatus);
+    public KeysetPage<BookingResponseDto> getBookings(Long userId, String state, String cursor, int size) {
+        BookingState bookingState = toBookingState(state);
+        Cursor after = Cursor.decode(cursor);
+        Limit limit = KeysetPage.limitFor(size);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BookingResponseDto> bookings = switch (bookingState) {
+            case ALL -> bookingRepository.findBookingsByUserId(userId, after.getPosition(), after.getId(), limit);
+            case CURRENT -> bookingRepository.findCurrentBookingsByUserId(userId, now, after.getPosition(),
+                    after.getId(), limit);
+            case PAST -> bookingRepository.findPastBookingsByUserId(userId, now, after.getPosition(),
+                    after.getId(), limit);
+            case FUTURE -> bookingRepository.findFutureBookingsByUserId(userId, now, after.getPosition(),
+                    after.getId(), limit);
+            case WAITING -> bookingRepository.findBookingsByUserIdAndStatus(userId, BookingStatus.WAITING,
+                    after.getPosition(), after.getId(), limit);
+            case REJECTED -> bookingRepository.findBookingsByUserIdAndStatus(userId, BookingStatus.REJECTED,
+                    after.getPosition(), after.getId(), limit);
+        };
+        return KeysetPage.of(bookings, limit, BookingService::cursorOf);
+    }
+
+    public KeysetPage<BookingResponseDto> getBookingsByOwner(Long userId, String state, String cursor, int size) {
+        BookingState bookingState = toBookingState(state);
+        Cursor after = Cursor.decode(cursor);
+        Limit limit = KeysetPage.limitFor(size);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BookingResponseDto> bookings = switch (bookingState) {
+            case ALL -> bookingRepository.findBookingsByOwner(userId, after.getPosition(), after.getId(), limit);
+            case CURRENT -> bookingRepository.findCurrentBookingsByOwner(userId, now, after.getPosition(),
+                    after.getId(), limit);
+            case PAST -> bookingRepository.findPastBookingsByOwner(userId, now, after.getPosition(),
+                    after.getId(), limit);
+            case FUTURE -> bookingRepository.findFutureBookingsByOwner(userId, now, after.getPosition(),
+                    after.getId(), limit);
+            case WAITING -> bookingRepository.findBookingsByOwnerAndStatus(userId, BookingStatus.WAITING,
+                    after.getPosition(), after.getId(), limit);
+            case REJECTED -> bookingRepository.findBookingsByOwnerAndStatus(userId, BookingStatus.REJECTED,
+                    after.getPosition(), after.getId(), limit);
+        };
+        return KeysetPage.of(bookings, limit, BookingService::cursorOf);
+    }
+
+    private static BookingState toBookingState(String state) {
+        return BookingState.from(state)
+                .orElseThrow(() -> new ValidationException("Unknown state: " + state));
+    }
+
+    private static Cursor cursorOf(BookingResponseDto booking) {
+        return new Cursor(booking.getStart(), booking.getId());
+    }
+
+    private static BookingResponseDto toBookingResponseDto(Booking booking) {
+        return new BookingResponseDto(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                booking.getItem().getId(), booking.getItem().getName(),
+                booking.getBooker().getId(), booking.getBooker().getName());
+    }
+
+    /**
+     * Runs an in-memory index update once the status change is committed, or right away outside a transaction.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,20 @@
+package ru.practicum.booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last or next approved booking of an item, as returned by
+ * {@link BookingRepository#findLastAndNextApprovedBookings}.
+ */
+public interface ItemBookingView {
+    String LAST = "LAST";
+    String NEXT = "NEXT";
+
+    Long getItemId();
+
+    LocalDateTime getStartDate();
+
+    LocalDateTime getEndDate();
+
+    String getKind();
+}
@@ -0,0 +1,92 @@
+package ru.practicum.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.job.JobCompletion;
+import ru.practicum.job.JobCompletionRepository;
+import ru.practicum.job.JobLeaseService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Counters kept in {@code owner_booking_counters}, so that owner dashboards do not have to count the bookings
+ * table. Each change is one upsert in the caller's transaction. The upsert and the recount rely on PostgreSQL.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.sql.init.platform", havingValue = "postgresql")
+public class MaterializedOwnerBookingCounters implements OwnerBookingCounters {
+    static final String LEASE_NAME = "owner-booking-counters";
+
+    private final OwnerBookingCounterRepository counterRepository;
+    private final JobCompletionRepository jobCompletionRepository;
+    private final JobLeaseService jobLeaseService;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean initialized;
+
+    public MaterializedOwnerBookingCounters(OwnerBookingCounterRepository counterRepository,
+                                            JobCompletionRepository jobCompletionRepository,
+                                            JobLeaseService jobLeaseService, TransactionTemplate transactionTemplate) {
+        this.counterRepository = counterRepository;
+        this.jobCompletionRepository = jobCompletionRepository;
+        this.jobLeaseService = jobLeaseService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void add(Long ownerId, BookingStatus status, long delta) {
+        counterRepository.add(ownerId, status.name(), delta);
+    }
+
+    @Override
+    public Map<BookingStatus, Long> getCounts(Long ownerId) {
+        Map<BookingStatus, Long> counts = new EnumMap<>(BookingStatus.class);
+        for (BookingStatus status : BookingStatus.values()) {
+            counts.put(status, 0L);
+        }
+        counterRepository.findByOwnerId(ownerId).forEach(counter -> counts.put(counter.getStatus(), counter.getCount()));
+        return counts;
+    }
+
+    /**
+     * Recounts the counters from the bookings table once for all instances, e.g. on the first start after the
+     * counters were introduced, and retries until it succeeds. Counter updates wait for the recount, and rows
+     * written by them beforehand are overwritten with the recounted values.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${shareit.owner-booking-counters.retry-interval:PT1M}",
+            fixedDelayString = "${shareit.owner-booking-counters.retry-interval:PT1M}")
+    public void initialize() {
+        if (!initialized && jobCompletionRepository.existsById(LEASE_NAME)) {
+            initialized = true;
+        }
+        if (initialized || !jobLeaseService.tryAcquire(LEASE_NAME, Duration.ofMinutes(5))) {
+            return;
+        }
+        try {
+            Integer rows = transactionTemplate.execute(status -> {
+                if (jobCompletionRepository.existsById(LEASE_NAME)) {
+                    return 0;
+                }
+                counterRepository.lockForRecount();
+                int recounted = counterRepository.recount() + counterRepository.resetUncounted();
+                jobCompletionRepository.save(new JobCompletion(LEASE_NAME, LocalDateTime.now()));
+                return recounted;
+            });
+            initialized = true;
+            log.info("Initialized {} owner booking counters", rows);
+        } catch (RuntimeException e) {
+            log.warn("Failed to initialize owner booking counters, will retry", e);
+        } finally {
+            jobLeaseService.release(LEASE_NAME);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.booking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface OwnerBookingCounterRepository extends JpaRepository<OwnerBookingCounter, OwnerBookingCounter.Key> {
+
+    List<OwnerBookingCounter> findByOwnerId(Long ownerId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO owner_booking_counters (owner_id, status, booking_count) " +
+            "VALUES (:ownerId, :status, :delta) ON CONFLICT (owner_id, status) " +
+            "DO UPDATE SET booking_count = owner_booking_counters.booking_count + EXCLUDED.booking_count",
+            nativeQuery = true)
+    void add(@Param("ownerId") Long ownerId, @Param("status") String status, @Param("delta") long delta);
+
+    /**
+     * Blocks counter updates until the caller's transaction ends, so that a recount neither misses nor repeats
+     * a booking counted concurrently.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE owner_booking_counters IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRecount();
+
+    @Modifying
+    @Query(value = "INSERT INTO owner_booking_counters (owner_id, status, booking_count) " +
+            "SELECT i.owner_id, b.status, COUNT(*) FROM bookings b JOIN items i ON i.id = b.item_id " +
+            "GROUP BY i.owner_id, b.status " +
+            "ON CONFLICT (owner_id, status) DO UPDATE SET booking_count = EXCLUDED.booking_count", nativeQuery = true)
+    int recount();
+
+    @Modifying
+    @Query(value = "UPDATE owner_booking_counters c SET booking_count = 0 WHERE booking_count <> 0 AND NOT EXISTS (" +
+            "SELECT 1 FROM bookings b JOIN items i ON i.id = b.item_id " +
+            "WHERE i.owner_id = c.owner_id AND b.status = c.status)", nativeQuery = true)
+    int resetUncounted();
+}
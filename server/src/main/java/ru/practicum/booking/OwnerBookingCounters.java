@@ -0,0 +1,22 @@
+package ru.practicum.booking;
+
+import java.util.Map;
+
+/**
+ * Number of bookings per item owner and status for the owner summary. The code paths that create bookings or
+ * change their status report the changes here, in their own transaction.
+ */
+public interface OwnerBookingCounters {
+
+    void add(Long ownerId, BookingStatus status, long delta);
+
+    default void move(Long ownerId, BookingStatus from, BookingStatus to, long count) {
+        add(ownerId, from, -count);
+        add(ownerId, to, count);
+    }
+
+    /**
+     * Counts of all statuses, zero for those the owner has no bookings in.
+     */
+    Map<BookingStatus, Long> getCounts(Long ownerId);
+}
@@ -0,0 +1,36 @@
+package ru.practicum.booking;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Counts an owner's bookings with one grouped query on databases other than PostgreSQL, where the materialized
+ * counters are not available.
+ */
+@Component
+@ConditionalOnExpression("'${spring.sql.init.platform:}' != 'postgresql'")
+public class QueryOwnerBookingCounters implements OwnerBookingCounters {
+    private final BookingRepository bookingRepository;
+
+    public QueryOwnerBookingCounters(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    @Override
+    public void add(Long ownerId, BookingStatus status, long delta) {
+    }
+
+    @Override
+    public Map<BookingStatus, Long> getCounts(Long ownerId) {
+        Map<BookingStatus, Long> counts = new EnumMap<>(BookingStatus.class);
+        for (BookingStatus status : BookingStatus.values()) {
+            counts.put(status, 0L);
+        }
+        bookingRepository.countByStatusForOwner(ownerId)
+                .forEach(counter -> counts.put(counter.getStatus(), counter.getCount()));
+        return counts;
+    }
+}
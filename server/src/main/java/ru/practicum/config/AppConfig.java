@@ -3,12 +3,18 @@ package ru.practicum.config;
 import org.modelmapper.ModelMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import ru.practicum.item.Item;
+import ru.practicum.item.ItemDto;
 
 @Configuration
 public class AppConfig {
 
     @Bean
     public ModelMapper modelMapper() {
-        return new ModelMapper();
+        ModelMapper modelMapper = new ModelMapper();
+        // Comments are attached to item responses as a summary, never copied from the lazy collection.
+        modelMapper.typeMap(Item.class, ItemDto.class).addMappings(mapper -> mapper.skip(ItemDto::setComments));
+        modelMapper.typeMap(ItemDto.class, Item.class).addMappings(mapper -> mapper.skip(Item::setComments));
+        return modelMapper;
     }
 }
\ No newline at end of file
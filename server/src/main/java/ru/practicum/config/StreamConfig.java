@@ -0,0 +1,27 @@
+package ru.practicum.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.stream.EventStreamRegistry;
+
+@Configuration
+public class StreamConfig {
+
+    @Bean
+    public EventStreamRegistry bookingEventStream(@Value("${shareit.stream.timeout-ms:1800000}") long timeoutMillis,
+                                                  @Value("${shareit.stream.dispatcher-threads:2}") int threads,
+                                                  @Value("${shareit.stream.queue-capacity:1000}") int queueCapacity,
+                                                  MeterRegistry meterRegistry) {
+        return new EventStreamRegistry("booking", timeoutMillis, threads, queueCapacity, meterRegistry);
+    }
+
+    @Bean
+    public EventStreamRegistry requestMatchStream(@Value("${shareit.stream.timeout-ms:1800000}") long timeoutMillis,
+                                                  @Value("${shareit.stream.dispatcher-threads:2}") int threads,
+                                                  @Value("${shareit.stream.queue-capacity:1000}") int queueCapacity,
+                                                  MeterRegistry meterRegistry) {
+        return new EventStreamRegistry("request-match", timeoutMillis, threads, queueCapacity, meterRegistry);
+    }
+}
@@ -3,10 +3,13 @@ package ru.practicum.error;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.practicum.exception.ConflictException;
 import ru.practicum.exception.EmailAlreadyExistsException;
 import ru.practicum.exception.InvalidBookingException;
 import ru.practicum.exception.NotFoundException;
@@ -45,6 +48,27 @@ public class ErrorHandler {
         return new ErrorResponse("Ошибка с входным параметром", e.getMessage());
     }
 
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler
+    public ErrorResponse handleConflictException(final ConflictException e) {
+        log.error("Ошибка: {}", e.getMessage(), e);
+        return new ErrorResponse("Конфликт состояния", e.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler
+    public ErrorResponse handleDataIntegrityViolation(final DataIntegrityViolationException e) {
+        log.error("Ошибка: {}", e.getMessage(), e);
+        return new ErrorResponse("Конфликт состояния", "Request conflicts with the stored data");
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler
+    public ErrorResponse handleOptimisticLockingFailure(final ObjectOptimisticLockingFailureException e) {
+        log.error("Ошибка: {}", e.getMessage(), e);
+        return new ErrorResponse("Конфликт состояния", "Entity has been changed concurrently, reload it and try again");
+    }
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler
     public ErrorResponse handleInvalidBookingException(final InvalidBookingException e) {
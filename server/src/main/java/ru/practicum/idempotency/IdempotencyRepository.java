@@ -0,0 +1,49 @@
+package ru.practicum.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface IdempotencyRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (request_key, request_hash, status, expires_at) " +
+            "VALUES (:requestKey, :requestHash, 'PENDING', :expiresAt)", nativeQuery = true)
+    void insertPending(@Param("requestKey") String requestKey, @Param("requestHash") String requestHash,
+                       @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = ru.practicum.idempotency.IdempotencyStatus.COMPLETED, " +
+            "r.responseBody = :responseBody, r.expiresAt = :expiresAt WHERE r.requestKey = :requestKey")
+    int complete(@Param("requestKey") String requestKey, @Param("responseBody") String responseBody,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.expiresAt = :expiresAt WHERE r.requestKey IN :requestKeys " +
+            "AND r.status = ru.practicum.idempotency.IdempotencyStatus.PENDING")
+    int extendPending(@Param("requestKeys") Collection<String> requestKeys,
+                      @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.requestKey = :requestKey " +
+            "AND r.status = ru.practicum.idempotency.IdempotencyStatus.PENDING")
+    int deletePending(@Param("requestKey") String requestKey);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.requestKey = :requestKey AND r.expiresAt <= :now")
+    int deleteExpired(@Param("requestKey") String requestKey, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt <= :now")
+    int deleteAllExpired(@Param("now") LocalDateTime now);
+}
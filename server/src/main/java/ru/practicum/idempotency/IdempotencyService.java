@@ -0,0 +1,198 @@
+package ru.practicum.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.exception.ConflictException;
+import ru.practicum.exception.ValidationException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Makes create requests carrying an {@code Idempotency-Key} header safe to retry. The first request with a key
+ * runs the action and stores its response in the same transaction; a replay gets the stored response back
+ * without running the action again. Completed responses are kept in a bounded in-memory cache in front of the
+ * {@code idempotency_keys} table, and both expire after {@code shareit.idempotency.ttl}.
+ * <p>
+ * While the action runs, its PENDING reservation is extended every {@code shareit.idempotency.heartbeat-interval},
+ * which must be shorter than {@code shareit.idempotency.pending-timeout}. A reservation therefore expires, and can
+ * be taken over by a retry, only when the instance running the action has died.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+    public static final String HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRepository idempotencyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration pendingTimeout;
+    private final Cache<String, StoredResponse> completed;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public IdempotencyService(IdempotencyRepository idempotencyRepository, TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                              @Value("${shareit.idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${shareit.idempotency.pending-timeout:PT1M}") Duration pendingTimeout,
+                              @Value("${shareit.idempotency.cache-size:10000}") long cacheSize) {
+        this.idempotencyRepository = idempotencyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.pendingTimeout = pendingTimeout;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotency");
+    }
+
+    public <T> T execute(Long userId, String operation, String key, Object request, Class<T> responseType,
+                         Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestKey = userId + ":" + operation + ":" + key;
+        String requestHash = hash(request);
+
+        StoredResponse cached = completed.getIfPresent(requestKey);
+        if (cached != null) {
+            return replay(cached, requestHash, responseType);
+        }
+        if (!reserve(requestKey, requestHash)) {
+            return replayStored(requestKey, requestHash, responseType);
+        }
+
+        T response;
+        String responseBody;
+        running.add(requestKey);
+        try {
+            responseBody = transactionTemplate.execute(status -> {
+                String body = write(action.get());
+                idempotencyRepository.complete(requestKey, body, LocalDateTime.now().plus(ttl));
+                return body;
+            });
+            response = read(responseBody, responseType);
+        } catch (RuntimeException e) {
+            idempotencyRepository.deletePending(requestKey);
+            throw e;
+        } finally {
+            running.remove(requestKey);
+        }
+        completed.put(requestKey, new StoredResponse(requestHash, responseBody));
+        return response;
+    }
+
+    @Scheduled(initialDelayString = "${shareit.idempotency.heartbeat-interval:PT15S}",
+            fixedDelayString = "${shareit.idempotency.heartbeat-interval:PT15S}")
+    public void extendRunning() {
+        if (running.isEmpty()) {
+            return;
+        }
+        idempotencyRepository.extendPending(List.copyOf(running), LocalDateTime.now().plus(pendingTimeout));
+    }
+
+    @Scheduled(initialDelayString = "${shareit.idempotency.purge-interval:PT1H}",
+            fixedDelayString = "${shareit.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int purged = idempotencyRepository.deleteAllExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private boolean reserve(String requestKey, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                idempotencyRepository.insertPending(requestKey, requestHash, now.plus(pendingTimeout));
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                if (idempotencyRepository.deleteExpired(requestKey, now) == 0) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private <T> T replayStored(String requestKey, String requestHash, Class<T> responseType) {
+        IdempotencyRecord stored = idempotencyRepository.findById(requestKey)
+                .orElseThrow(this::inProgress);
+        if (!stored.getRequestHash().equals(requestHash)) {
+            throw mismatch();
+        }
+        if (stored.getStatus() == IdempotencyStatus.PENDING) {
+            throw inProgress();
+        }
+        StoredResponse response = new StoredResponse(stored.getRequestHash(), stored.getResponseBody());
+        completed.put(requestKey, response);
+        return read(response.body(), responseType);
+    }
+
+    private <T> T replay(StoredResponse response, String requestHash, Class<T> responseType) {
+        if (!response.requestHash().equals(requestHash)) {
+            throw mismatch();
+        }
+        return read(response.body(), responseType);
+    }
+
+    private ConflictException inProgress() {
+        return new ConflictException("A request with this " + HEADER + " is still being processed");
+    }
+
+    private ValidationException mismatch() {
+        return new ValidationException(HEADER + " has already been used for a different request");
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+
+    private String write(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot store response", e);
+        }
+    }
+
+    private <T> T read(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot replay stored response", e);
+        }
+    }
+
+    private record StoredResponse(String requestHash, String body) {
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.idempotency;
+
+public enum IdempotencyStatus {
+    PENDING,
+    COMPLETED
+}
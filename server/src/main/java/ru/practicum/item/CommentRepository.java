@@ -1,9 +1,32 @@
 package ru.practicum.item;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @Query("SELECT new ru.practicum.item.CommentDto(c.id, c.text, a.name, c.created) " +
+            "FROM Comment c JOIN c.author a WHERE c.item.id = :itemId " +
+            "AND (c.created, c.id) < (:cursorCreated, :cursorId) ORDER BY c.created DESC, c.id DESC")
+    List<CommentDto> findByItemId(@Param("itemId") Long itemId,
+                                  @Param("cursorCreated") LocalDateTime cursorCreated,
+                                  @Param("cursorId") Long cursorId, Limit limit);
+
+    @Query(value = "SELECT t.item_id AS itemId, t.id AS id, t.text AS text, t.author_id AS authorId, " +
+            "t.author_name AS authorName, t.created AS created, t.total AS total " +
+            "FROM (SELECT c.item_id, c.id, c.text, c.author_id, u.name AS author_name, c.created, " +
+            "ROW_NUMBER() OVER (PARTITION BY c.item_id ORDER BY c.created DESC, c.id DESC) AS rn, " +
+            "COUNT(*) OVER (PARTITION BY c.item_id) AS total " +
+            "FROM comments c JOIN users u ON u.id = c.author_id WHERE c.item_id IN (:itemIds)) t " +
+            "WHERE t.rn <= :latest ORDER BY t.item_id, t.rn", nativeQuery = true)
+    List<ItemCommentView> findLatestByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                              @Param("latest") int latest);
 }
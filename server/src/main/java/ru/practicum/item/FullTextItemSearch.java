@@ -0,0 +1,24 @@
+package ru.practicum.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * PostgreSQL full-text search over the generated {@code items.search_document} column, served by a GIN index.
+ * Name words carry weight A and description words weight B, so {@code ts_rank} puts name hits first; the page is
+ * cut in the database. Accepts web search syntax: quoted phrases, {@code or} and {@code -word}.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.items.search", havingValue = "full-text")
+public class FullTextItemSearch implements ItemSearch {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        return itemRepository.searchItemByFullText(text.trim(), from, size);
+    }
+}
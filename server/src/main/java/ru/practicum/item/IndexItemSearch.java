@@ -0,0 +1,25 @@
+package ru.practicum.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Search served from {@link ItemSearchIndex} without touching the database. Unlike {@link LikeItemSearch} it matches
+ * whole words only: every word of the text must appear in the item, so "аккум" does not find "Аккумуляторная дрель".
+ * The index lives in this instance and follows only the item changes made through it, so use it only when a single
+ * server writes the items.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.items.search", havingValue = "index")
+public class IndexItemSearch implements ItemSearch {
+    private final ItemSearchIndex itemSearchIndex;
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        return itemSearchIndex.search(text, from, size);
+    }
+}
@@ -1,10 +1,11 @@
 package ru.practicum.item;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
-import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
 import ru.practicum.user.User;
 
 import java.util.List;
@@ -13,14 +14,18 @@ import java.util.List;
 @Entity
 @Table(name = "items")
 public class Item {
+    // A pooled sequence instead of IDENTITY lets Hibernate assign ids up front and batch the inserts.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_id_seq")
+    @SequenceGenerator(name = "items_id_seq", sequenceName = "items_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Название не может быть пустым")
     private String name;
 
+    // Matches the column in schema.sql: search_document is generated from it, so ddl-auto must not alter its type.
     @NotBlank(message = "Описание не может быть пустым")
+    @Column(length = 512)
     private String description;
 
     @Column(name = "is_available")
@@ -32,7 +37,8 @@ public class Item {
     private User owner;
 
     @OneToMany(mappedBy = "item", cascade = CascadeType.ALL)
-    @JsonManagedReference
+    @BatchSize(size = 100)
+    @JsonIgnore
     private List<Comment> comments;
 
     @Column(name = "request_id")
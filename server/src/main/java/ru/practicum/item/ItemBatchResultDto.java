@@ -0,0 +1,15 @@
+package ru.practicum.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of one row of {@code POST /items/batch}: the created item, or the reason the row was skipped.
+ */
+@Data
+@AllArgsConstructor
+public class ItemBatchResultDto {
+    private int index;
+    private ItemDto item;
+    private String error;
+}
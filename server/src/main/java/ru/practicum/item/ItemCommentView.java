@@ -0,0 +1,24 @@
+package ru.practicum.item;
+
+import java.time.LocalDateTime;
+
+/**
+ * One of the latest comments of an item together with the item's comment count, as returned by
+ * {@link CommentRepository#findLatestByItemIds}.
+ */
+public interface ItemCommentView {
+
+    Long getItemId();
+
+    Long getId();
+
+    String getText();
+
+    Long getAuthorId();
+
+    String getAuthorName();
+
+    LocalDateTime getCreated();
+
+    Long getTotal();
+}
@@ -1,8 +1,13 @@
 package ru.practicum.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.booking.AvailabilitySpan;
+import ru.practicum.idempotency.IdempotencyService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,6 +16,7 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ItemController {
     private final ItemServiceImpl itemService;
+    private final IdempotencyService idempotencyService;
 
     @GetMapping("/{itemId}")
     public Optional<ItemDto> get(@PathVariable Long itemId,
@@ -20,8 +26,16 @@ public class ItemController {
 
     @PostMapping
     public ItemDto add(@RequestHeader("X-Sharer-User-Id") Long userId,
+                       @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                        @RequestBody ItemDto itemDto) {
-        return itemService.addNew(userId, itemDto);
+        return idempotencyService.execute(userId, "create-item", idempotencyKey, itemDto, ItemDto.class,
+                () -> itemService.addNew(userId, itemDto));
+    }
+
+    @PostMapping("/batch")
+    public List<ItemBatchResultDto> addAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                           @RequestBody List<ItemDto> itemDtos) {
+        return itemService.addAll(userId, itemDtos);
     }
 
     @PatchMapping("/{itemId}")
@@ -33,14 +47,31 @@ public class ItemController {
     }
 
     @GetMapping
-    public List<Item> getAll(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public List<ItemDto> getAll(@RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemService.getAll(userId);
     }
 
     @GetMapping("/search")
-    public List<Item> search(@RequestParam String text) {
+    public List<Item> search(@RequestParam String text,
+                             @RequestParam(defaultValue = "0") int from,
+                             @RequestParam(defaultValue = "20") int size) {
+
+        return itemService.search(text, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public List<AvailabilitySpan> getAvailability(
+            @PathVariable Long itemId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getAvailability(itemId, from, to);
+    }
 
-        return itemService.search(text);
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentDto>> getComments(@PathVariable Long itemId,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "20") int size) {
+        return itemService.getComments(itemId, cursor, size).toResponseEntity();
     }
 
     @PostMapping("/{itemId}/comment")
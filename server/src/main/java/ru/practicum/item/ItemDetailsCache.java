@@ -0,0 +1,109 @@
+package ru.practicum.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.booking.BookingDto;
+import ru.practicum.booking.BookingEvent;
+import ru.practicum.booking.BookingStatus;
+import ru.practicum.user.UserEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache behind {@code GET /items/{itemId}}. An entry holds the item with its comments and,
+ * once the owner has viewed it, the owner's last and next booking together with the moment they stop being
+ * current. Entries are evicted when the item changes, gets a comment or one of its bookings is approved, and when
+ * its owner or the author of a cached comment changes. Entries are shared: callers get a copy of the item.
+ */
+@Component
+public class ItemDetailsCache {
+    private final Cache<Long, Entry> entries;
+
+    public ItemDetailsCache(MeterRegistry meterRegistry,
+                            @Value("${shareit.items.details-cache.size:10000}") long size,
+                            @Value("${shareit.items.details-cache.ttl:PT10M}") Duration ttl) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(size)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "itemDetails");
+    }
+
+    public Entry get(Long itemId, Function<Long, Entry> loader) {
+        return entries.get(itemId, loader);
+    }
+
+    public void invalidate(Long itemId) {
+        entries.invalidate(itemId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemEvent event) {
+        invalidate(event.getItem().getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingEvent event) {
+        if (event.getBooking().getStatus() == BookingStatus.APPROVED) {
+            invalidate(event.getBooking().getItem().getId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserEvent event) {
+        entries.asMap().values().removeIf(entry -> entry.userIds.contains(event.getUserId()));
+    }
+
+    public static class Entry {
+        private final ItemDto item;
+        private final Set<Long> userIds;
+        @Getter
+        @Setter
+        private volatile OwnerBookings ownerBookings;
+
+        /**
+         * @param userIds the users whose names the item shows: its owner and the authors of its comments
+         */
+        public Entry(ItemDto item, Set<Long> userIds) {
+            this.item = item;
+            this.userIds = Set.copyOf(userIds);
+        }
+
+        public ItemDto copyOfItem() {
+            ItemDto copy = new ItemDto();
+            copy.setId(item.getId());
+            copy.setName(item.getName());
+            copy.setDescription(item.getDescription());
+            copy.setOwner(item.getOwner());
+            copy.setAvailable(item.getAvailable());
+            copy.setComments(item.getComments() == null ? null : List.copyOf(item.getComments()));
+            copy.setCommentCount(item.getCommentCount());
+            copy.setLastBooking(item.getLastBooking());
+            copy.setNextBooking(item.getNextBooking());
+            copy.setRequestId(item.getRequestId());
+            return copy;
+        }
+    }
+
+    /**
+     * Last and next approved booking of an item, valid until the next booking starts or a current one ends.
+     */
+    public record OwnerBookings(BookingDto last, BookingDto next, LocalDateTime validUntil) {
+
+        boolean isValidAt(LocalDateTime now) {
+            return now.isBefore(validUntil);
+        }
+    }
+}
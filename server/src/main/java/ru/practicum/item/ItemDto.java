@@ -13,7 +13,8 @@ public class ItemDto {
     private String description;
     private User owner;
     private Boolean available;
-    private List<Comment> comments;
+    private List<CommentDto> comments;
+    private Long commentCount;
     private BookingDto lastBooking;
     private BookingDto nextBooking;
     private Long requestId;
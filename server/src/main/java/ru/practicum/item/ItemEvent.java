@@ -0,0 +1,14 @@
+package ru.practicum.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ItemEvent {
+    private final ItemDto item;
+    /**
+     * State of the item before the change, {@code null} for a new item.
+     */
+    private final ItemDto previous;
+}
@@ -0,0 +1,124 @@
+package ru.practicum.item;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Relevance of an item to the words of a search query, and selection of the best {@code from + size} items
+ * with a bounded min-heap, so ranking needs memory for one page only. A word found in the name counts more than
+ * one found in the description, and a whole-word match more than a match inside a longer word; an item named
+ * exactly like the query comes first.
+ */
+public final class ItemRanking {
+    private static final int EXACT_NAME = 16;
+    private static final int NAME_WORD = 8;
+    private static final int NAME_PART = 4;
+    private static final int DESCRIPTION_WORD = 2;
+    private static final int DESCRIPTION_PART = 1;
+
+    private static final Comparator<Ranked> WORST_FIRST = Comparator.comparingInt(Ranked::score)
+            .thenComparing(Ranked::id, Comparator.reverseOrder());
+
+    private final String text;
+    private final List<String> words;
+    private final int from;
+    private final PriorityQueue<Ranked> best;
+    private final int capacity;
+
+    ItemRanking(String text, List<String> words, int from, int size) {
+        this.text = text.trim();
+        this.words = words;
+        this.from = from;
+        this.capacity = (int) Math.min((long) from + size, Integer.MAX_VALUE);
+        this.best = new PriorityQueue<>(Math.min(capacity, 1024), WORST_FIRST);
+    }
+
+    /**
+     * Splits text into distinct lower-case words of letters and digits, in order of appearance.
+     */
+    public static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        Set<String> words = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return List.copyOf(words);
+    }
+
+    void offer(Item item) {
+        int score = score(item);
+        if (best.size() < capacity) {
+            best.add(new Ranked(item, score));
+            return;
+        }
+        Ranked worst = best.peek();
+        if (worst != null && (score > worst.score() || score == worst.score() && item.getId() < worst.id())) {
+            best.poll();
+            best.add(new Ranked(item, score));
+        }
+    }
+
+    List<Item> page() {
+        List<Ranked> ranked = new ArrayList<>(best);
+        ranked.sort(Collections.reverseOrder(WORST_FIRST));
+        return ranked.stream().skip(from).map(Ranked::item).toList();
+    }
+
+    int score(Item item) {
+        int score = item.getName().trim().equalsIgnoreCase(text) ? EXACT_NAME : 0;
+        for (String word : words) {
+            if (containsWord(item.getName(), word)) {
+                score += NAME_WORD;
+            } else if (containsPart(item.getName(), word)) {
+                score += NAME_PART;
+            } else if (containsWord(item.getDescription(), word)) {
+                score += DESCRIPTION_WORD;
+            } else if (containsPart(item.getDescription(), word)) {
+                score += DESCRIPTION_PART;
+            }
+        }
+        return score;
+    }
+
+    private static boolean containsPart(String text, String word) {
+        for (int i = 0; i <= text.length() - word.length(); i++) {
+            if (text.regionMatches(true, i, word, 0, word.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsWord(String text, String word) {
+        for (int i = 0; i <= text.length() - word.length(); i++) {
+            int end = i + word.length();
+            if (text.regionMatches(true, i, word, 0, word.length())
+                    && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)))
+                    && (end == text.length() || !Character.isLetterOrDigit(text.charAt(end)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Ranked(Item item, int score) {
+        Long id() {
+            return item.getId();
+        }
+    }
+}
@@ -1,20 +1,39 @@
 package ru.practicum.item;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.user.User;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findAllByOwner(User owner);
 
-    @Query("SELECT i FROM Item i WHERE i.available = true AND " +
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT i.id AS id, i.name AS name, i.description AS description, i.requestId AS requestId, " +
+            "i.owner.id AS ownerId FROM Item i WHERE i.available = true AND " +
             "(LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) OR " +
             "LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))) AND " +
             ":text IS NOT NULL")
-    List<Item> searchItemByText(@Param("text") String text);
+    Stream<ItemTextView> streamByText(@Param("text") String text);
 
-    List<Item> findAllByRequestId(Long requestId);
+    @Query(value = "SELECT i.* FROM items i, websearch_to_tsquery('simple', :text) q " +
+            "WHERE i.is_available AND i.search_document @@ q " +
+            "ORDER BY LOWER(i.name) = LOWER(:text) DESC, ts_rank(i.search_document, q) DESC, i.id " +
+            "LIMIT :size OFFSET :from", nativeQuery = true)
+    List<Item> searchItemByFullText(@Param("text") String text, @Param("from") int from, @Param("size") int size);
+
+    @Query("SELECT i.requestId AS requestId, i.id AS itemId, i.name AS name, i.owner.id AS ownerId " +
+            "FROM Item i WHERE i.requestId IN :requestIds ORDER BY i.id")
+    List<RequestResponseView> findResponsesByRequestIds(@Param("requestIds") Collection<Long> requestIds);
+
+    @Query("SELECT i.id AS id, i.name AS name, i.description AS description, i.requestId AS requestId, " +
+            "i.owner.id AS ownerId FROM Item i WHERE i.available = true")
+    List<ItemTextView> findByAvailableTrue();
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package ru.practicum.item;
+
+import java.util.List;
+
+/**
+ * Finds available items whose name or description matches the search text and returns the requested page of
+ * them, most relevant first. The implementation is selected with {@code shareit.items.search}.
+ */
+public interface ItemSearch {
+
+    List<Item> search(String text, int from, int size);
+}
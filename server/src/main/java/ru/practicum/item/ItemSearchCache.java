@@ -0,0 +1,96 @@
+package ru.practicum.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of search result pages, keyed by the normalized query text and the page. A changed item only
+ * evicts the queries whose words all occur in its old or new name and description, since no other query can
+ * have returned it before or return it now.
+ */
+@Component
+public class ItemSearchCache {
+    private final Cache<Query, List<Item>> pages;
+    private final AtomicLong changes = new AtomicLong();
+
+    public ItemSearchCache(MeterRegistry meterRegistry,
+                           @Value("${shareit.items.search-cache.size:1000}") long size,
+                           @Value("${shareit.items.search-cache.ttl:PT10M}") Duration ttl) {
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(size)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "itemSearch");
+    }
+
+    /**
+     * Returns the cached page or runs the search with the normalized text the page is cached under.
+     */
+    public List<Item> get(String text, int from, int size, Function<String, List<Item>> search) {
+        Query query = Query.of(normalize(text), from, size);
+        List<Item> cached = pages.getIfPresent(query);
+        if (cached != null) {
+            return cached;
+        }
+        long version = changes.get();
+        List<Item> result = List.copyOf(search.apply(query.text()));
+        pages.put(query, result);
+        // An item changed while searching: the result may predate it and the eviction may have run before put.
+        if (changes.get() != version) {
+            pages.invalidate(query);
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemEvent event) {
+        changes.incrementAndGet();
+        String current = text(event.getItem());
+        String previous = event.getPrevious() == null ? "" : text(event.getPrevious());
+        pages.asMap().keySet().removeIf(query -> query.couldMatch(current) || query.couldMatch(previous));
+    }
+
+    private static String normalize(String text) {
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String text(ItemDto item) {
+        return (item.getName() + " " + item.getDescription()).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Cache key; the words and operators are derived from the text once, so that eviction does not tokenize every
+     * cached query again for each item change.
+     */
+    private record Query(String text, int from, int size, List<String> words, boolean negated, boolean anyWord) {
+
+        static Query of(String text, int from, int size) {
+            return new Query(text, from, size, ItemRanking.words(text), text.contains("-"), text.contains(" or "));
+        }
+
+        /**
+         * Whether some search engine could return an item with this text for the query. Negated words make any
+         * item a possible match, {@code or} makes one of the words enough, otherwise all words are required.
+         */
+        boolean couldMatch(String itemText) {
+            if (negated) {
+                return true;
+            }
+            return anyWord
+                    ? words.stream().anyMatch(itemText::contains)
+                    : words.stream().allMatch(itemText::contains);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package ru.practicum.item;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import ru.practicum.user.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the words of available items, so that searching and request suggestions do not
+ * touch the database. Every indexed item gets an int slot; a word maps to the sorted slots of the items containing
+ * it. A search matches the items that contain all of its words and is ranked by {@link ItemRanking}; a suggestion
+ * matches the items that contain any significant word, see {@link #suggest}. The index is built on start-up and kept current from
+ * {@link ItemEvent}s after the changing transaction commits, before
+ * {@link ItemSearchCache} evicts the affected queries.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final Comparator<Suggestion> SUGGESTION_WORST_FIRST = Comparator
+            .comparingDouble(Suggestion::weight)
+            .thenComparingInt(Suggestion::score)
+            .thenComparing(suggestion -> suggestion.item().getId(), Comparator.reverseOrder());
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private Item[] documents = new Item[1024];
+    private int indexed;
+
+    public ItemSearchIndex(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        List<ItemTextView> items = itemRepository.findByAvailableTrue();
+        lock.writeLock().lock();
+        try {
+            items.forEach(item -> index(toDocument(item.getId(), item.getName(), item.getDescription(),
+                    item.getRequestId(), item.getOwnerId())));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Item search index built with {} items and {} words", items.size(), postings.size());
+    }
+
+    public List<Item> search(String text, int from, int size) {
+        List<String> words = ItemRanking.words(text);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[words.size()];
+            int shortest = 0;
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = postings.get(words.get(i));
+                if (lists[i] == null) {
+                    return List.of();
+                }
+                if (lists[i].size < lists[shortest].size) {
+                    shortest = i;
+                }
+            }
+            ItemRanking ranking = new ItemRanking(text, words, from, size);
+            Postings candidates = lists[shortest];
+            for (int i = 0; i < candidates.size; i++) {
+                int slot = candidates.slots[i];
+                if (containedInAll(lists, slot)) {
+                    ranking.offer(documents[slot]);
+                }
+            }
+            return ranking.page();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best {@code size} available items sharing at least one significant word with the text, such as a request
+     * description, leaving out the items of {@code excludedOwnerId}. Items score the summed {@link SearchWords}
+     * weight of the shared words, so one rare word counts more than several common ones.
+     */
+    public List<Item> suggest(String text, int size, Long excludedOwnerId) {
+        List<String> words = SearchWords.significant(text);
+        if (words.isEmpty() || size <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> weights = new HashMap<>();
+            for (String word : words) {
+                Postings list = postings.get(word);
+                if (list == null) {
+                    continue;
+                }
+                double weight = SearchWords.weight(indexed, list.size);
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.slots[i];
+                    if (excludedOwnerId == null || !excludedOwnerId.equals(documents[slot].getOwner().getId())) {
+                        weights.merge(slot, weight, Double::sum);
+                    }
+                }
+            }
+            ItemRanking ranking = new ItemRanking(text, words, 0, size);
+            PriorityQueue<Suggestion> best = new PriorityQueue<>(Math.min(size, weights.size() + 1),
+                    SUGGESTION_WORST_FIRST);
+            weights.forEach((slot, weight) -> {
+                best.add(new Suggestion(documents[slot], weight, ranking.score(documents[slot])));
+                if (best.size() > size) {
+                    best.poll();
+                }
+            });
+            List<Suggestion> suggestions = new ArrayList<>(best);
+            suggestions.sort(Collections.reverseOrder(SUGGESTION_WORST_FIRST));
+            return suggestions.stream().map(Suggestion::item).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemEvent event) {
+        ItemDto item = event.getItem();
+        lock.writeLock().lock();
+        try {
+            remove(item.getId());
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                index(toDocument(item.getId(), item.getName(), item.getDescription(), item.getRequestId(),
+                        item.getOwner() == null ? null : item.getOwner().getId()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Item document) {
+        int slot = slots.computeIfAbsent(document.getId(), id -> slots.size());
+        if (slot >= documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+        }
+        documents[slot] = document;
+        indexed++;
+        for (String word : ItemRanking.words(document.getName() + " " + document.getDescription())) {
+            postings.computeIfAbsent(word, w -> new Postings()).add(slot);
+        }
+    }
+
+    private void remove(Long itemId) {
+        Integer slot = slots.get(itemId);
+        if (slot == null || documents[slot] == null) {
+            return;
+        }
+        Item document = documents[slot];
+        for (String word : ItemRanking.words(document.getName() + " " + document.getDescription())) {
+            Postings list = postings.get(word);
+            list.remove(slot);
+            if (list.size == 0) {
+                postings.remove(word);
+            }
+        }
+        documents[slot] = null;
+        indexed--;
+    }
+
+    private static boolean containedInAll(Postings[] lists, int slot) {
+        for (Postings list : lists) {
+            if (list.indexOf(slot) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static Item toDocument(Long id, String name, String description, Long requestId, Long ownerId) {
+        User owner = new User();
+        owner.setId(ownerId);
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(true);
+        item.setRequestId(requestId);
+        item.setOwner(owner);
+        item.setComments(List.of());
+        return item;
+    }
+
+    private record Suggestion(Item item, double weight, int score) {
+    }
+
+    /**
+     * Sorted, growable array of slots.
+     */
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        int indexOf(int slot) {
+            return Arrays.binarySearch(slots, 0, size, slot);
+        }
+
+        void add(int slot) {
+            int index = indexOf(slot);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            System.arraycopy(slots, index, slots, index + 1, size - index);
+            slots[index] = slot;
+            size++;
+        }
+
+        void remove(int slot) {
+            int index = indexOf(slot);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+            size--;
+        }
+    }
+}
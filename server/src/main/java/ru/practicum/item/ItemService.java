@@ -2,7 +2,10 @@ package ru.practicum.item;
 
 import org.apache.coyote.BadRequestException;
 import org.springframework.stereotype.Service;
+import ru.practicum.booking.AvailabilitySpan;
+import ru.practicum.pagination.KeysetPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,11 +14,17 @@ public interface ItemService {
 
     ItemDto addNew(Long userId, ItemDto itemDto);
 
+    List<ItemBatchResultDto> addAll(Long userId, List<ItemDto> itemDtos);
+
     ItemDto update(Long userId, Long itemId, ItemDto itemDto) throws BadRequestException;
 
     Optional<ItemDto> getOne(Long itemId, Long userId) throws BadRequestException;
 
-    List<Item> getAll(Long userId) throws BadRequestException;
+    List<ItemDto> getAll(Long userId) throws BadRequestException;
+
+    List<Item> search(String text, int from, int size) throws BadRequestException;
+
+    List<AvailabilitySpan> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
 
-    List<Item> search(String text) throws BadRequestException;
+    KeysetPage<CommentDto> getComments(Long itemId, String cursor, int size);
 }
\ No newline at end of file
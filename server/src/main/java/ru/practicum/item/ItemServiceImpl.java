@@ -1,43 +1,72 @@
 package ru.practicum.item;
 
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
-import ru.practicum.booking.Booking;
+import ru.practicum.booking.AvailabilitySpan;
+import ru.practicum.booking.BookingCalendar;
 import ru.practicum.booking.BookingDto;
 import ru.practicum.booking.BookingRepository;
 import ru.practicum.booking.BookingStatus;
+import ru.practicum.booking.ItemBookingView;
 import ru.practicum.exception.InvalidBookingException;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.exception.ValidationException;
+import ru.practicum.pagination.Cursor;
+import ru.practicum.pagination.KeysetPage;
 import ru.practicum.request.Request;
 import ru.practicum.request.RequestRepository;
 import ru.practicum.user.User;
-import ru.practicum.user.UserRepository;
+import ru.practicum.user.UserCache;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @AllArgsConstructor
 public class ItemServiceImpl implements ItemService {
+    private static final Duration MAX_AVAILABILITY_RANGE = Duration.ofDays(92);
+    private static final int LATEST_COMMENTS = 3;
+    private static final int MAX_BATCH_SIZE = 10_000;
+    private static final int BATCH_CHUNK_SIZE = 500;
+    private static final int MAX_SEARCH_OFFSET = 10_000;
+
     private final ModelMapper modelMapper;
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
     private final RequestRepository requestRepository;
+    private final BookingCalendar bookingCalendar;
+    private final ItemSearch itemSearch;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemDetailsCache itemDetailsCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public ItemDto addNew(Long userId, ItemDto itemDto) {
         Item item = toItem(itemDto);
-        User user = userRepository.findById(userId)
+        User user = userCache.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
         if (item.getAvailable() == null) {
             throw new ValidationException("Available cannot be null");
@@ -54,15 +83,92 @@ public class ItemServiceImpl implements ItemService {
         }
 
         item.setOwner(user);
-        itemRepository.save(item);
-        return toItemDto(item);
+        userCache.write(userId, () -> itemRepository.saveAndFlush(item));
+        ItemDto created = toItemDto(item);
+        created.setComments(List.of());
+        created.setCommentCount(0L);
+        eventPublisher.publishEvent(new ItemEvent(created, null));
+        return created;
+    }
+
+    /**
+     * Creates many items of one owner. Rows are validated up front, request ids are checked with one query, and
+     * valid rows are inserted in JDBC batches, one transaction per chunk. Ids sent by the client are ignored. A chunk
+     * the database rejects is retried row by row, so an invalid row is reported in its own result without affecting
+     * the other rows.
+     */
+    @Override
+    public List<ItemBatchResultDto> addAll(Long userId, List<ItemDto> itemDtos) {
+        if (itemDtos == null || itemDtos.isEmpty() || itemDtos.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " items");
+        }
+        User user = userCache.findById(userId)
+                .orElseThrow(() -> new NotFoundException("User not found"));
+        Set<Long> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingRequestIds = requestIds.isEmpty()
+                ? Set.of() : new HashSet<>(requestRepository.findExistingIds(requestIds));
+
+        ItemBatchResultDto[] results = new ItemBatchResultDto[itemDtos.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < itemDtos.size(); i++) {
+            String error = validateBatchRow(itemDtos.get(i), existingRequestIds);
+            if (error == null) {
+                valid.add(i);
+            } else {
+                results[i] = new ItemBatchResultDto(i, null, error);
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += BATCH_CHUNK_SIZE) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + BATCH_CHUNK_SIZE, valid.size()));
+            try {
+                saveBatchChunk(user, itemDtos, chunk, results);
+            } catch (DataAccessException e) {
+                log.warn("Batch of {} items for user {} was rejected, saving its rows one by one", chunk.size(),
+                        userId, e);
+                for (Integer i : chunk) {
+                    try {
+                        saveBatchChunk(user, itemDtos, List.of(i), results);
+                    } catch (DataAccessException rowError) {
+                        log.debug("Batch row {} for user {} was rejected", i, userId, rowError);
+                        results[i] = new ItemBatchResultDto(i, null, "Item could not be saved");
+                    }
+                }
+            }
+        }
+        return List.of(results);
+    }
+
+    private void saveBatchChunk(User user, List<ItemDto> itemDtos, List<Integer> chunk,
+                                ItemBatchResultDto[] results) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Item> items = chunk.stream().map(i -> {
+                Item item = toItem(itemDtos.get(i));
+                // A client-supplied id would make saveAll merge into, and overwrite, an existing item.
+                item.setId(null);
+                item.setOwner(user);
+                return item;
+            }).toList();
+            itemRepository.saveAll(items);
+            itemRepository.flush();
+            for (int i = 0; i < chunk.size(); i++) {
+                ItemDto created = toItemDto(items.get(i));
+                created.setComments(List.of());
+                created.setCommentCount(0L);
+                results[chunk.get(i)] = new ItemBatchResultDto(chunk.get(i), created, null);
+                eventPublisher.publishEvent(new ItemEvent(created, null));
+            }
+        });
     }
 
     @Override
     @Transactional
     public ItemDto update(Long userId, Long itemId, ItemDto itemDto) {
         itemDto.setId(itemId);
-        User user = userRepository.findById(userId)
+        User user = userCache.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
         itemDto.setOwner(user);
         Item existingItem = itemRepository.findById(itemDto.getId())
@@ -71,6 +177,7 @@ public class ItemServiceImpl implements ItemService {
         if (!existingItem.getOwner().getId().equals(userId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "User is not the owner of this item");
         }
+        ItemDto previous = toItemDto(existingItem);
 
         if (itemDto.getName() != null) {
             existingItem.setName(itemDto.getName());
@@ -82,40 +189,93 @@ public class ItemServiceImpl implements ItemService {
             existingItem.setAvailable(itemDto.getAvailable());
         }
         itemRepository.save(existingItem);
-        return toItemDto(existingItem);
+        ItemDto updated = toItemDto(existingItem);
+        addCommentsToItems(List.of(updated));
+        eventPublisher.publishEvent(new ItemEvent(updated, previous));
+        return updated;
     }
 
     @Override
     public Optional<ItemDto> getOne(Long itemId, Long userId) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException("Item with ID " + itemId + " not found"));
+        ItemDetailsCache.Entry details = itemDetailsCache.get(itemId, id -> {
+            ItemDto item = toItemDto(itemRepository.findById(id)
+                    .orElseThrow(() -> new NotFoundException("Item with ID " + id + " not found")));
+            Set<Long> userIds = addCommentsToItems(List.of(item));
+            userIds.add(item.getOwner().getId());
+            return new ItemDetailsCache.Entry(item, userIds);
+        });
 
-        ItemDto itemDto = toItemDto(item);
+        ItemDto itemDto = details.copyOfItem();
 
-        addBookingsToItem(itemDto, itemId, userId);
+        if (Objects.equals(itemDto.getOwner().getId(), userId)) {
+            LocalDateTime now = LocalDateTime.now();
+            ItemDetailsCache.OwnerBookings bookings = details.getOwnerBookings();
+            if (bookings == null || !bookings.isValidAt(now)) {
+                bookings = loadOwnerBookings(itemId, now);
+                details.setOwnerBookings(bookings);
+            }
+            itemDto.setLastBooking(bookings.last());
+            itemDto.setNextBooking(bookings.next());
+        }
 
         return Optional.of(itemDto);
     }
 
     @Override
-    public List<Item> getAll(Long userId) {
-        User user = userRepository.findById(userId)
+    public List<ItemDto> getAll(Long userId) {
+        User user = userCache.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
-        return itemRepository.findAllByOwner(user);
+        List<ItemDto> itemDtos = itemRepository.findAllByOwner(user).stream()
+                .map(this::toItemDto)
+                .toList();
+
+        addBookingsToItems(itemDtos);
+        addCommentsToItems(itemDtos);
+
+        return itemDtos;
     }
 
     @Override
-    public List<Item> search(String text) {
+    public List<Item> search(String text, int from, int size) {
         if (text == null || text.trim().isEmpty()) {
             return Collections.emptyList();
         }
-        return itemRepository.searchItemByText(text);
+        if (from < 0 || from > MAX_SEARCH_OFFSET || size <= 0) {
+            throw new ValidationException("Search page needs 0 <= from <= " + MAX_SEARCH_OFFSET + " and size > 0");
+        }
+        int pageSize = Math.min(size, KeysetPage.MAX_SIZE);
+        return itemSearchCache.get(text, from, pageSize, normalized -> itemSearch.search(normalized, from, pageSize));
+    }
+
+    @Override
+    public List<AvailabilitySpan> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Availability range start must be before its end");
+        }
+        if (Duration.between(from, to).compareTo(MAX_AVAILABILITY_RANGE) > 0) {
+            throw new ValidationException("Availability range cannot exceed " + MAX_AVAILABILITY_RANGE.toDays() + " days");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Item with ID " + itemId + " not found");
+        }
+        return bookingCalendar.getAvailability(itemId, from, to);
+    }
+
+    @Override
+    public KeysetPage<CommentDto> getComments(Long itemId, String cursor, int size) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Item with ID " + itemId + " not found");
+        }
+        Cursor after = Cursor.decode(cursor);
+        Limit limit = KeysetPage.limitFor(size);
+        List<CommentDto> comments = commentRepository.findByItemId(itemId, after.getPosition(), after.getId(), limit);
+        return KeysetPage.of(comments, limit, comment -> new Cursor(comment.getCreated(), comment.getId()));
     }
 
     public CommentDto comment(Long itemId, Long userId, String text) {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item not found"));
-        User user = userRepository.findById(userId)
+        User user = userCache.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
         boolean hasBooking = bookingRepository.existsByItemIdAndBookerIdAndStatusAndEndDateBefore(
@@ -129,34 +289,103 @@ public class ItemServiceImpl implements ItemService {
         comment.setText(text);
         comment.setAuthor(user);
         comment.setCreated(LocalDateTime.now());
-        commentRepository.save(comment);
+        userCache.write(userId, () -> commentRepository.save(comment));
+        itemDetailsCache.invalidate(itemId);
 
         return toCommentDto(comment);
     }
 
+    private static String validateBatchRow(ItemDto itemDto, Set<Long> existingRequestIds) {
+        if (itemDto == null) {
+            return "Item cannot be null";
+        }
+        if (itemDto.getName() == null || itemDto.getName().isBlank() || itemDto.getName().length() > 255) {
+            return "Name must be 1 to 255 characters long";
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()
+                || itemDto.getDescription().length() > 512) {
+            return "Description must be 1 to 512 characters long";
+        }
+        if (itemDto.getAvailable() == null) {
+            return "Available cannot be null";
+        }
+        if (itemDto.getRequestId() != null && !existingRequestIds.contains(itemDto.getRequestId())) {
+            return "Request not found";
+        }
+        return null;
+    }
+
     private Item toItem(ItemDto itemDto) {
         return modelMapper.map(itemDto, Item.class);
     }
 
-    private void addBookingsToItem(ItemDto itemDto, Long itemId, Long userId) {
+    private void addBookingsToItems(List<ItemDto> itemDtos) {
+        if (itemDtos.isEmpty()) {
+            return;
+        }
+        Map<Long, ItemDto> itemsById = itemDtos.stream()
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
 
-        Booking lastBooking = bookingRepository.findFirstByItemIdAndEndBeforeAndStatusOrderByEndDesc(
-                itemId, LocalDateTime.now(), BookingStatus.APPROVED);
+        for (ItemBookingView booking : bookingRepository.findLastAndNextApprovedBookings(
+                itemsById.keySet(), LocalDateTime.now())) {
+            ItemDto itemDto = itemsById.get(booking.getItemId());
+            if (ItemBookingView.LAST.equals(booking.getKind())) {
+                itemDto.setLastBooking(toBookingDto(booking));
+            } else {
+                itemDto.setNextBooking(toBookingDto(booking));
+            }
+        }
+    }
 
-        Booking nextBooking = bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(
-                itemId, LocalDateTime.now(), BookingStatus.APPROVED);
+    /**
+     * Attaches the latest comments to the items and returns the ids of their authors.
+     */
+    private Set<Long> addCommentsToItems(List<ItemDto> itemDtos) {
+        Set<Long> authorIds = new HashSet<>();
+        if (itemDtos.isEmpty()) {
+            return authorIds;
+        }
+        Map<Long, ItemDto> itemsById = itemDtos.stream()
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+        itemDtos.forEach(itemDto -> {
+            itemDto.setComments(new ArrayList<>());
+            itemDto.setCommentCount(0L);
+        });
 
-        if (lastBooking != null && Objects.equals(lastBooking.getItem().getOwner().getId(), userId)) {
-            itemDto.setLastBooking(toBookingDto(lastBooking));
+        for (ItemCommentView comment : commentRepository.findLatestByItemIds(itemsById.keySet(), LATEST_COMMENTS)) {
+            ItemDto itemDto = itemsById.get(comment.getItemId());
+            itemDto.setCommentCount(comment.getTotal());
+            itemDto.getComments().add(new CommentDto(comment.getId(), comment.getText(), comment.getAuthorName(),
+                    comment.getCreated()));
+            authorIds.add(comment.getAuthorId());
         }
+        return authorIds;
+    }
 
-        if (nextBooking != null && Objects.equals(nextBooking.getItem().getOwner().getId(), userId)) {
-            itemDto.setNextBooking(toBookingDto(nextBooking));
+    private ItemDetailsCache.OwnerBookings loadOwnerBookings(Long itemId, LocalDateTime now) {
+        BookingDto last = null;
+        BookingDto next = null;
+        for (ItemBookingView booking : bookingRepository.findLastAndNextApprovedBookings(List.of(itemId), now)) {
+            if (ItemBookingView.LAST.equals(booking.getKind())) {
+                last = toBookingDto(booking);
+            } else {
+                next = toBookingDto(booking);
+            }
+        }
+        LocalDateTime validUntil = Objects.requireNonNullElse(bookingRepository.findEarliestEndByItemIdAndStatusAt(
+                itemId, BookingStatus.APPROVED, now), LocalDateTime.MAX);
+        if (next != null && next.getStart().isBefore(validUntil)) {
+            validUntil = next.getStart();
         }
+        return new ItemDetailsCache.OwnerBookings(last, next, validUntil);
     }
 
-    private BookingDto toBookingDto(Booking booking) {
-        return modelMapper.map(booking, BookingDto.class);
+    private BookingDto toBookingDto(ItemBookingView booking) {
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setItemId(booking.getItemId());
+        bookingDto.setStart(booking.getStartDate());
+        bookingDto.setEnd(booking.getEndDate());
+        return bookingDto;
     }
 
     private ItemDto toItemDto(Item item) {
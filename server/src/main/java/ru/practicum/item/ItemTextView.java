@@ -0,0 +1,18 @@
+package ru.practicum.item;
+
+/**
+ * Searchable text of an available item, as returned by {@link ItemRepository#findByAvailableTrue} and
+ * {@link ItemRepository#streamByText}.
+ */
+public interface ItemTextView {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Long getRequestId();
+
+    Long getOwnerId();
+}
@@ -0,0 +1,31 @@
+package ru.practicum.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Substring search with {@code LIKE}. The matches are streamed through {@link ItemRanking} as text views, so memory
+ * is bounded by the requested page rather than by the number of matches.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.items.search", havingValue = "like", matchIfMissing = true)
+public class LikeItemSearch implements ItemSearch {
+    private final ItemRepository itemRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Item> search(String text, int from, int size) {
+        ItemRanking ranking = new ItemRanking(text, ItemRanking.words(text), from, size);
+        try (Stream<ItemTextView> items = itemRepository.streamByText(text)) {
+            items.forEach(item -> ranking.offer(ItemSearchIndex.toDocument(item.getId(), item.getName(),
+                    item.getDescription(), item.getRequestId(), item.getOwnerId())));
+        }
+        return ranking.page();
+    }
+}
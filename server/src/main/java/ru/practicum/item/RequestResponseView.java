@@ -0,0 +1,15 @@
+package ru.practicum.item;
+
+/**
+ * An item offered in response to a request, as returned by {@link ItemRepository#findResponsesByRequestIds}.
+ */
+public interface RequestResponseView {
+
+    Long getRequestId();
+
+    Long getItemId();
+
+    String getName();
+
+    Long getOwnerId();
+}
@@ -0,0 +1,40 @@
+package ru.practicum.item;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Words of free text, such as a request description, that are worth matching against items: stop words and
+ * words shorter than {@value #MIN_LENGTH} characters are dropped, and a word shared by fewer documents weighs more.
+ */
+public final class SearchWords {
+    static final int MIN_LENGTH = 3;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "about", "after", "all", "also", "and", "any", "are", "but", "can", "could", "for", "from", "had",
+            "has", "have", "her", "his", "how", "its", "just", "not", "now", "one", "our", "out", "some", "than",
+            "that", "the", "their", "them", "then", "there", "these", "they", "this", "those", "too", "very",
+            "was", "were", "what", "when", "where", "which", "who", "will", "with", "would", "you", "your",
+            "без", "был", "была", "были", "было", "все", "вот", "для", "его", "если", "есть", "еще", "ещё",
+            "как", "кто", "мне", "мой", "моя", "над", "нам", "нас", "нет", "них", "под", "при", "так", "там",
+            "тем", "только", "уже", "чем", "что", "чтобы", "это", "этот");
+
+    private SearchWords() {
+    }
+
+    /**
+     * Distinct significant lower-case words of the text, in order of appearance.
+     */
+    public static List<String> significant(String text) {
+        return ItemRanking.words(text).stream()
+                .filter(word -> word.length() >= MIN_LENGTH && !STOP_WORDS.contains(word))
+                .toList();
+    }
+
+    /**
+     * Inverse document frequency of a word found in {@code containing} of {@code documents} documents.
+     */
+    public static double weight(int documents, int containing) {
+        return Math.log(1.0 + (double) Math.max(documents, containing) / Math.max(containing, 1));
+    }
+}
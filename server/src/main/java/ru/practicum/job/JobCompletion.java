@@ -0,0 +1,28 @@
+package ru.practicum.job;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a one-off job, such as a data backfill, as done for all server instances.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "job_completions")
+public class JobCompletion {
+
+    @Id
+    private String name;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public JobCompletion(String name, LocalDateTime completedAt) {
+        this.name = name;
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,6 @@
+package ru.practicum.job;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JobCompletionRepository extends JpaRepository<JobCompletion, String> {
+}
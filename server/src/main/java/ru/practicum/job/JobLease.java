@@ -0,0 +1,20 @@
+package ru.practicum.job;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "job_leases")
+public class JobLease {
+
+    @Id
+    private String name;
+
+    private String holder;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,31 @@
+package ru.practicum.job;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.holder = :holder, l.expiresAt = :expiresAt " +
+            "WHERE l.name = :name AND (l.holder = :holder OR l.expiresAt <= :now)")
+    int extend(@Param("name") String name, @Param("holder") String holder,
+               @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.expiresAt = :now WHERE l.name = :name AND l.holder = :holder")
+    int expire(@Param("name") String name, @Param("holder") String holder, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO job_leases (name, holder, expires_at) VALUES (:name, :holder, :expiresAt)",
+            nativeQuery = true)
+    void insert(@Param("name") String name, @Param("holder") String holder,
+                @Param("expiresAt") LocalDateTime expiresAt);
+}
@@ -0,0 +1,48 @@
+package ru.practicum.job;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Time-limited leases in the {@code job_leases} table, so that a scheduled job runs on one
+ * server instance at a time. A lease is kept by its holder until it expires and is then free to take.
+ */
+@Slf4j
+@Service
+public class JobLeaseService {
+    private final JobLeaseRepository jobLeaseRepository;
+    private final String instanceId;
+
+    public JobLeaseService(JobLeaseRepository jobLeaseRepository,
+                           @Value("${shareit.instance-id:#{T(java.util.UUID).randomUUID().toString()}}")
+                           String instanceId) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.instanceId = instanceId;
+    }
+
+    public boolean tryAcquire(String name, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        if (jobLeaseRepository.extend(name, instanceId, now, now.plus(duration)) > 0) {
+            return true;
+        }
+        if (jobLeaseRepository.existsById(name)) {
+            return false;
+        }
+        try {
+            jobLeaseRepository.insert(name, instanceId, now.plus(duration));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Lease {} was taken by another instance", name);
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        jobLeaseRepository.expire(name, instanceId, LocalDateTime.now());
+    }
+}
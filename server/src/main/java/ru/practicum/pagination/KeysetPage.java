@@ -0,0 +1,55 @@
+package ru.practicum.pagination;
+
+import lombok.Getter;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.exception.ValidationException;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list. The body stays a plain JSON array; the position of the
+ * next page travels in the {@value #NEXT_CURSOR_HEADER} response header.
+ */
+@Getter
+public class KeysetPage<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public KeysetPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Limit to pass to the repository: one row more than requested, to learn whether a next page exists.
+     */
+    public static Limit limitFor(int size) {
+        if (size <= 0) {
+            throw new ValidationException("Page size must be positive");
+        }
+        return Limit.of(Math.min(size, MAX_SIZE) + 1);
+    }
+
+    public static <T> KeysetPage<T> of(List<T> rows, Limit limit, Function<T, Cursor> cursorOf) {
+        int size = limit.max() - 1;
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new KeysetPage<>(content, cursorOf.apply(content.get(size - 1)).encode());
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(content);
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.request;
+
+import java.time.LocalDateTime;
+
+/**
+ * Text and requestor of a request, returned by {@link RequestRepository#findOpenRequests} for
+ * {@link RequestMatcher} and by {@link RequestRepository#findViewById} for suggestions.
+ */
+public interface OpenRequestView {
+
+    Long getId();
+
+    Long getRequestorId();
+
+    String getDescription();
+
+    LocalDateTime getCreated();
+}
@@ -2,9 +2,11 @@ package ru.practicum.request;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import ru.practicum.item.Item;
 import ru.practicum.user.User;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Entity
@@ -19,4 +21,10 @@ public class Request {
     @JoinColumn(name = "requestor_id", nullable = false)
     private User requestor;
     private LocalDateTime created;
+
+    /**
+     * Available items similar to the description, filled in when the request is created.
+     */
+    @Transient
+    private List<Item> suggestions;
 }
\ No newline at end of file
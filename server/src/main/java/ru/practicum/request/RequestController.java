@@ -1,7 +1,11 @@
 package ru.practicum.request;
 
 import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.item.Item;
 
 import java.util.List;
 
@@ -22,13 +26,26 @@ public class RequestController {
         return requestService.getOwnRequests(userId);
     }
 
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        return requestService.subscribe(userId);
+    }
+
     @GetMapping("/all")
-    public List<RequestDto> getAllRequests() {
-        return requestService.getAllRequests();
+    public ResponseEntity<List<RequestDto>> getAllRequests(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "20") int size) {
+        return requestService.getAllRequests(userId, cursor, size).toResponseEntity();
     }
 
     @GetMapping("/{requestId}")
     public RequestDto getRequestById(@PathVariable Long requestId) {
         return requestService.getRequestById(requestId);
     }
+
+    @GetMapping("/{requestId}/suggestions")
+    public List<Item> getSuggestions(@PathVariable Long requestId,
+                                     @RequestParam(defaultValue = "10") int size) {
+        return requestService.getSuggestions(requestId, size);
+    }
 }
@@ -0,0 +1,10 @@
+package ru.practicum.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RequestEvent {
+    private final RequestDto request;
+}
@@ -0,0 +1,20 @@
+package ru.practicum.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A new item that answers a request, pushed to the requestor over {@code GET /requests/stream}.
+ */
+@Data
+@AllArgsConstructor
+public class RequestMatch {
+    private Long requestId;
+    private Long itemId;
+    private String name;
+    private Long ownerId;
+    /**
+     * {@code true} when the owner named the request, {@code false} when the item was matched by its words.
+     */
+    private boolean explicit;
+}
@@ -0,0 +1,235 @@
+package ru.practicum.request;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.item.ItemDto;
+import ru.practicum.item.ItemEvent;
+import ru.practicum.item.SearchWords;
+import ru.practicum.stream.EventStreamRegistry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Tells requestors about new items that answer their requests: items created for the request and available
+ * items sharing enough {@link SearchWords significant} words, not common to most open requests, with a request
+ * opened within {@code shareit.requests.matching.open-for}. Open requests are kept in an in-memory inverted index;
+ * matching runs on a small bounded pool after the item's transaction commits, and items are skipped, not queued
+ * without limit, when the pool cannot keep up.
+ */
+@Slf4j
+@Component
+public class RequestMatcher {
+    static final String EVENT_NAME = "request-match";
+    // A word found in more than half of the open requests says little about any of them; with fewer requests than
+    // this the share is not telling.
+    private static final double MIN_WORD_WEIGHT = SearchWords.weight(2, 1);
+    private static final int MIN_REQUESTS_FOR_WORD_WEIGHTS = 20;
+
+    private final RequestRepository requestRepository;
+    private final EventStreamRegistry requestMatchStream;
+    private final Duration openFor;
+    private final int minSharedWords;
+    private final ThreadPoolExecutor executor;
+    private final Counter matchedCounter;
+    private final Counter droppedCounter;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, OpenRequest> requests = new HashMap<>();
+    private final Map<String, Set<Long>> requestsByWord = new HashMap<>();
+
+    public RequestMatcher(RequestRepository requestRepository, EventStreamRegistry requestMatchStream,
+                          MeterRegistry meterRegistry,
+                          @Value("${shareit.requests.matching.open-for:P30D}") Duration openFor,
+                          @Value("${shareit.requests.matching.min-shared-words:2}") int minSharedWords,
+                          @Value("${shareit.requests.matching.threads:1}") int threads,
+                          @Value("${shareit.requests.matching.queue-capacity:10000}") int queueCapacity) {
+        this.requestRepository = requestRepository;
+        this.requestMatchStream = requestMatchStream;
+        this.openFor = openFor;
+        this.minSharedWords = minSharedWords;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "request-matcher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.matchedCounter = Counter.builder("shareit.requests.matching.matched")
+                .description("Request match notifications sent to requestors")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("shareit.requests.matching.dropped")
+                .description("New items not matched because the matcher was saturated")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        List<OpenRequestView> open = requestRepository.findOpenRequests(LocalDateTime.now().minus(openFor));
+        lock.writeLock().lock();
+        try {
+            open.forEach(request -> register(request.getId(), request.getRequestorId(), request.getDescription(),
+                    request.getCreated()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Request matcher loaded {} open requests", open.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestCreated(RequestEvent event) {
+        RequestDto request = event.getRequest();
+        lock.writeLock().lock();
+        try {
+            register(request.getId(), request.getRequestor(), request.getDescription(), request.getCreated());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemEvent event) {
+        if (event.getPrevious() != null) {
+            return;
+        }
+        try {
+            executor.execute(() -> match(event.getItem()));
+        } catch (RejectedExecutionException e) {
+            droppedCounter.increment();
+            log.warn("Request matcher is saturated, item {} was not matched", event.getItem().getId());
+        }
+    }
+
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.HOURS)
+    public void pruneExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(openFor);
+        lock.writeLock().lock();
+        try {
+            requests.values().stream()
+                    .filter(request -> !request.created().isAfter(cutoff))
+                    .map(OpenRequest::id)
+                    .toList()
+                    .forEach(this::unregister);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Finds the requests answered by a new item and notifies their requestors.
+     */
+    List<RequestMatch> match(ItemDto item) {
+        Long ownerId = item.getOwner() == null ? null : item.getOwner().getId();
+        Map<Long, RequestMatch> matches = new LinkedHashMap<>();
+        Map<Long, Long> requestors = new HashMap<>();
+
+        if (item.getRequestId() != null) {
+            findRequestorId(item.getRequestId())
+                    .filter(requestorId -> !requestorId.equals(ownerId))
+                    .ifPresent(requestorId -> {
+                        matches.put(item.getRequestId(), new RequestMatch(item.getRequestId(), item.getId(),
+                                item.getName(), ownerId, true));
+                        requestors.put(item.getRequestId(), requestorId);
+                    });
+        }
+        if (Boolean.TRUE.equals(item.getAvailable())) {
+            for (OpenRequest request : findBySharedWords(item.getName() + " " + item.getDescription())) {
+                if (!request.requestorId().equals(ownerId) && !matches.containsKey(request.id())) {
+                    matches.put(request.id(), new RequestMatch(request.id(), item.getId(), item.getName(), ownerId,
+                            false));
+                    requestors.put(request.id(), request.requestorId());
+                }
+            }
+        }
+
+        matches.values().forEach(match -> requestMatchStream.publish(List.of(requestors.get(match.getRequestId())),
+                EVENT_NAME, match));
+        matchedCounter.increment(matches.size());
+        return new ArrayList<>(matches.values());
+    }
+
+    private Optional<Long> findRequestorId(Long requestId) {
+        lock.readLock().lock();
+        try {
+            OpenRequest request = requests.get(requestId);
+            if (request != null) {
+                return Optional.of(request.requestorId());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return requestRepository.findRequestorIdById(requestId);
+    }
+
+    private List<OpenRequest> findBySharedWords(String text) {
+        LocalDateTime cutoff = LocalDateTime.now().minus(openFor);
+        Map<Long, Integer> shared = new HashMap<>();
+        List<OpenRequest> found = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (String word : SearchWords.significant(text)) {
+                Set<Long> ids = requestsByWord.get(word);
+                if (ids != null && (requests.size() < MIN_REQUESTS_FOR_WORD_WEIGHTS
+                        || SearchWords.weight(requests.size(), ids.size()) >= MIN_WORD_WEIGHT)) {
+                    ids.forEach(id -> shared.merge(id, 1, Integer::sum));
+                }
+            }
+            shared.forEach((id, count) -> {
+                OpenRequest request = requests.get(id);
+                if (count >= Math.min(minSharedWords, request.words().size()) && request.created().isAfter(cutoff)) {
+                    found.add(request);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return found;
+    }
+
+    private void register(Long id, Long requestorId, String description, LocalDateTime created) {
+        Set<String> words = Set.copyOf(SearchWords.significant(description));
+        if (words.isEmpty()) {
+            return;
+        }
+        requests.put(id, new OpenRequest(id, requestorId, created == null ? LocalDateTime.now() : created, words));
+        words.forEach(word -> requestsByWord.computeIfAbsent(word, w -> new HashSet<>()).add(id));
+    }
+
+    private void unregister(Long id) {
+        OpenRequest request = requests.remove(id);
+        for (String word : request.words()) {
+            Set<Long> ids = requestsByWord.get(word);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                requestsByWord.remove(word);
+            }
+        }
+    }
+
+    private record OpenRequest(Long id, Long requestorId, LocalDateTime created, Set<String> words) {
+    }
+}
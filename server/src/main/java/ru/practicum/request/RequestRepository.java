@@ -1,10 +1,36 @@
 package ru.practicum.request;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 
 public interface RequestRepository extends JpaRepository<Request, Long> {
     List<Request> findAllByRequestorId(Long requestorId);
+
+    @Query("SELECT r FROM Request r WHERE r.requestor.id <> :userId " +
+            "AND (r.created, r.id) < (:cursorCreated, :cursorId) ORDER BY r.created DESC, r.id DESC")
+    List<Request> findOtherUsersRequests(@Param("userId") Long userId,
+                                         @Param("cursorCreated") LocalDateTime cursorCreated,
+                                         @Param("cursorId") Long cursorId, Limit limit);
+
+    @Query("SELECT r.id AS id, r.requestor.id AS requestorId, r.description AS description, r.created AS created " +
+            "FROM Request r WHERE r.created > :createdAfter")
+    List<OpenRequestView> findOpenRequests(@Param("createdAfter") LocalDateTime createdAfter);
+
+    @Query("SELECT r.id AS id, r.requestor.id AS requestorId, r.description AS description, r.created AS created " +
+            "FROM Request r WHERE r.id = :id")
+    Optional<OpenRequestView> findViewById(@Param("id") Long id);
+
+    @Query("SELECT r.requestor.id FROM Request r WHERE r.id = :id")
+    Optional<Long> findRequestorIdById(@Param("id") Long id);
+
+    @Query("SELECT r.id FROM Request r WHERE r.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
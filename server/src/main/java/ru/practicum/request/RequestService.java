@@ -1,13 +1,21 @@
 package ru.practicum.request;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.item.Item;
+import ru.practicum.pagination.KeysetPage;
+
 import java.util.List;
 
 public interface RequestService {
     Request createRequest(Long userId, RequestDto requestDto);
 
+    SseEmitter subscribe(Long userId);
+
     List<RequestDto> getOwnRequests(Long userId);
 
-    List<RequestDto> getAllRequests();
+    KeysetPage<RequestDto> getAllRequests(Long userId, String cursor, int size);
 
     RequestDto getRequestById(Long requestId);
+
+    List<Item> getSuggestions(Long requestId, int size);
 }
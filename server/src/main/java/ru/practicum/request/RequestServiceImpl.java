@@ -2,13 +2,24 @@ package ru.practicum.request;
 
 import jakarta.transaction.Transactional;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.item.Item;
 import ru.practicum.item.ItemRepository;
+import ru.practicum.item.ItemSearchIndex;
+import ru.practicum.item.RequestResponseView;
+import ru.practicum.pagination.Cursor;
+import ru.practicum.pagination.KeysetPage;
+import ru.practicum.stream.EventStreamRegistry;
 import ru.practicum.user.User;
-import ru.practicum.user.UserRepository;
+import ru.practicum.user.UserCache;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -16,45 +27,63 @@ import java.util.stream.Collectors;
 @Transactional
 public class RequestServiceImpl implements RequestService {
     private final RequestRepository requestRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final ItemRepository itemRepository;
     private final ModelMapper modelMapper;
-
-    public RequestServiceImpl(RequestRepository requestRepository, UserRepository userRepository,
-                              ItemRepository itemRepository, ModelMapper modelMapper) {
+    private final ApplicationEventPublisher eventPublisher;
+    private final EventStreamRegistry requestMatchStream;
+    private final ItemSearchIndex itemSearchIndex;
+    private final int suggestionsSize;
+
+    public RequestServiceImpl(RequestRepository requestRepository, UserCache userCache,
+                              ItemRepository itemRepository, ModelMapper modelMapper,
+                              ApplicationEventPublisher eventPublisher, EventStreamRegistry requestMatchStream,
+                              ItemSearchIndex itemSearchIndex,
+                              @Value("${shareit.requests.suggestions.size:10}") int suggestionsSize) {
         this.requestRepository = requestRepository;
-        this.userRepository = userRepository;
+        this.userCache = userCache;
         this.itemRepository = itemRepository;
         this.modelMapper = modelMapper;
+        this.eventPublisher = eventPublisher;
+        this.requestMatchStream = requestMatchStream;
+        this.itemSearchIndex = itemSearchIndex;
+        this.suggestionsSize = suggestionsSize;
     }
 
     @Override
     public Request createRequest(Long userId, RequestDto requestDto) {
-        User requestor = userRepository.findById(userId)
+        User requestor = userCache.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Requestor not found"));
         Request request = toEntity(requestDto);
         request.setRequestor(requestor);
-        requestRepository.save(request);
+        userCache.write(userId, () -> requestRepository.save(request));
+        eventPublisher.publishEvent(new RequestEvent(toRequestDto(request)));
+        request.setSuggestions(itemSearchIndex.suggest(request.getDescription(), suggestionsSize, userId));
         return request;
 
     }
 
+    @Override
+    public SseEmitter subscribe(Long userId) {
+        return requestMatchStream.subscribe(userId);
+    }
+
     @Override
     public List<RequestDto> getOwnRequests(Long userId) {
         List<Request> userRequests = requestRepository.findAllByRequestorId(userId);
 
-        return userRequests.stream()
-                .map(this::mapRequestToDtoWithResponses)
-                .collect(Collectors.toList());
+        return mapRequestsToDtoWithResponses(userRequests);
     }
 
     @Override
-    public List<RequestDto> getAllRequests() {
-        List<Request> requests = requestRepository.findAll();
-
-        return requests.stream()
-                .map(this::mapRequestToDtoWithResponses)
-                .collect(Collectors.toList());
+    public KeysetPage<RequestDto> getAllRequests(Long userId, String cursor, int size) {
+        Cursor after = Cursor.decode(cursor);
+        Limit limit = KeysetPage.limitFor(size);
+        List<Request> requests = requestRepository.findOtherUsersRequests(userId, after.getPosition(), after.getId(),
+                limit);
+
+        return KeysetPage.of(mapRequestsToDtoWithResponses(requests), limit,
+                request -> new Cursor(request.getCreated(), request.getId()));
     }
 
     @Override
@@ -62,22 +91,40 @@ public class RequestServiceImpl implements RequestService {
         Request request = requestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Request not found"));
 
-        return mapRequestToDtoWithResponses(request);
+        return mapRequestsToDtoWithResponses(List.of(request)).get(0);
     }
 
-    private RequestDto mapRequestToDtoWithResponses(Request request) {
-        List<Item> items = itemRepository.findAllByRequestId(request.getId());
+    @Override
+    public List<Item> getSuggestions(Long requestId, int size) {
+        OpenRequestView request = requestRepository.findViewById(requestId)
+                .orElseThrow(() -> new NotFoundException("Request not found"));
+        return itemSearchIndex.suggest(request.getDescription(), Math.min(size, KeysetPage.MAX_SIZE),
+                request.getRequestorId());
+    }
 
-        List<Response> responses = items.stream()
-                .map(item -> new Response(
-                        item.getId(),
-                        item.getName(),
-                        item.getOwner().getId()
-                ))
+    private List<RequestDto> mapRequestsToDtoWithResponses(List<Request> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        // Responses are grouped by the position of their request id in a sorted long[], so no ids are boxed as keys.
+        long[] requestIds = requests.stream().mapToLong(Request::getId).sorted().toArray();
+        List<List<Response>> responses = new ArrayList<>(requestIds.length);
+        for (int i = 0; i < requestIds.length; i++) {
+            responses.add(new ArrayList<>());
+        }
+        for (RequestResponseView view : itemRepository.findResponsesByRequestIds(
+                requests.stream().map(Request::getId).toList())) {
+            responses.get(Arrays.binarySearch(requestIds, view.getRequestId()))
+                    .add(new Response(view.getItemId(), view.getName(), view.getOwnerId()));
+        }
+
+        return requests.stream()
+                .map(request -> {
+                    RequestDto requestDto = toRequestDto(request);
+                    requestDto.setItems(responses.get(Arrays.binarySearch(requestIds, request.getId())));
+                    return requestDto;
+                })
                 .collect(Collectors.toList());
-        RequestDto requestDto = toRequestDto(request);
-        requestDto.setItems(responses);
-        return requestDto;
     }
 
     private Request toEntity(RequestDto requestDto) {
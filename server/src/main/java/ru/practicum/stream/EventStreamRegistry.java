@@ -0,0 +1,100 @@
+package ru.practicum.stream;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-sent event subscriptions keyed by user id. Emitters are served by the servlet container
+ * asynchronously, so idle subscribers hold no thread; events are written by a small bounded pool and
+ * dropped, not queued without limit, when subscribers cannot keep up.
+ */
+@Slf4j
+public class EventStreamRegistry {
+    private final String name;
+    private final long timeoutMillis;
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor dispatcher;
+
+    public EventStreamRegistry(String name, long timeoutMillis, int dispatcherThreads, int queueCapacity,
+                               MeterRegistry meterRegistry) {
+        this.name = name;
+        this.timeoutMillis = timeoutMillis;
+        this.dispatcher = new ThreadPoolExecutor(dispatcherThreads, dispatcherThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, name + "-stream");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Gauge.builder("shareit.stream.subscribers", this, EventStreamRegistry::subscriberCount)
+                .description("Open server-sent event subscriptions")
+                .tag("stream", name)
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitters.compute(userId, (id, userEmitters) -> {
+            Set<SseEmitter> subscribed = userEmitters == null ? new CopyOnWriteArraySet<>() : userEmitters;
+            subscribed.add(emitter);
+            return subscribed;
+        });
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(error -> remove(userId, emitter));
+        return emitter;
+    }
+
+    public void publish(Collection<Long> userIds, String eventName, Object payload) {
+        try {
+            dispatcher.execute(() -> userIds.forEach(userId -> send(userId, eventName, payload)));
+        } catch (RejectedExecutionException e) {
+            log.warn("{} stream dispatcher is saturated, dropping {} event", name, eventName);
+        }
+    }
+
+    public int subscriberCount() {
+        return emitters.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        emitters.values().forEach(userEmitters -> userEmitters.forEach(SseEmitter::complete));
+        emitters.clear();
+    }
+
+    private void send(Long userId, String eventName, Object payload) {
+        Set<SseEmitter> userEmitters = emitters.get(userId);
+        if (userEmitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : userEmitters) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(payload));
+            } catch (IOException | IllegalStateException e) {
+                remove(userId, emitter);
+            }
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+}
@@ -4,9 +4,11 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
 
 @Data
 @Entity
+@BatchSize(size = 100)
 @Table(name = "users")
 public class User {
     @Id
@@ -0,0 +1,93 @@
+package ru.practicum.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.exception.NotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide bounded cache of users by id, so that services proving the acting user exists do not query the
+ * users table on every request. Unknown ids are not cached, so a user added on another server instance is found
+ * at once. Entries are evicted once a {@link UserEvent} commits on this instance; a lookup that overlapped a
+ * change is not kept. A user removed on another instance stays cached until the entry expires, so writes that
+ * reference a cached user go through {@link #write}. Cached users are returned as detached copies, fit for
+ * setting an owner, booker or author but not for changing the user.
+ */
+@Component
+public class UserCache {
+    private final UserRepository userRepository;
+    private final Cache<Long, User> users;
+    private final AtomicLong changes = new AtomicLong();
+
+    public UserCache(UserRepository userRepository, MeterRegistry meterRegistry,
+                     @Value("${shareit.users.cache.size:10000}") long size,
+                     @Value("${shareit.users.cache.ttl:PT10M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(size)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+    }
+
+    public Optional<User> findById(Long userId) {
+        User cached = users.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        long version = changes.get();
+        Optional<User> user = userRepository.findById(userId);
+        user.ifPresent(found -> users.put(userId, copy(found)));
+        // A user changed while loading: the row read may predate it and the eviction may have run before put.
+        if (changes.get() != version) {
+            users.invalidate(userId);
+        }
+        return user;
+    }
+
+    public boolean existsById(Long userId) {
+        return findById(userId).isPresent();
+    }
+
+    /**
+     * Runs a write referencing the user. When the write fails a constraint, the cached user is dropped and, if it
+     * is gone from the users table, the failure is reported as a missing user.
+     */
+    public <T> T write(Long userId, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException e) {
+            changes.incrementAndGet();
+            users.invalidate(userId);
+            if (!userRepository.existsByIdInNewTransaction(userId)) {
+                throw new NotFoundException("User not found");
+            }
+            throw e;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserEvent event) {
+        changes.incrementAndGet();
+        users.invalidate(event.getUserId());
+    }
+
+    private static User copy(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setName(user.getName());
+        copy.setEmail(user.getEmail());
+        return copy;
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A user was added, updated or removed.
+ */
+@Getter
+@AllArgsConstructor
+public class UserEvent {
+    private final Long userId;
+}
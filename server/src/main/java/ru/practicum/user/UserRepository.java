@@ -1,7 +1,16 @@
 package ru.practicum.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // A failed write aborts its transaction on PostgreSQL, so the user is looked up in a new one.
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @Query("SELECT COUNT(u) > 0 FROM User u WHERE u.id = :userId")
+    boolean existsByIdInNewTransaction(@Param("userId") Long userId);
+}
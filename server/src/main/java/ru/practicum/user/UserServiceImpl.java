@@ -1,6 +1,7 @@
 package ru.practicum.user;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.modelmapper.ModelMapper;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,10 +15,13 @@ import ru.practicum.exception.ValidationException;
 class UserServiceImpl implements UserService {
     private final UserRepository repository;
     private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserServiceImpl(UserRepository repository, ModelMapper modelMapper) {
+    public UserServiceImpl(UserRepository repository, ModelMapper modelMapper,
+                           ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
         this.modelMapper = modelMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     public UserDto getUser(Long userId) {
@@ -38,6 +42,7 @@ class UserServiceImpl implements UserService {
         }
 
         repository.save(user);
+        eventPublisher.publishEvent(new UserEvent(user.getId()));
 
         return toUserDto(user);
     }
@@ -59,6 +64,7 @@ class UserServiceImpl implements UserService {
             existingUser.setEmail(userDto.getEmail());
         }
         repository.save(existingUser);
+        eventPublisher.publishEvent(new UserEvent(userId));
         return toUserDto(existingUser);
     }
 
@@ -71,6 +77,7 @@ class UserServiceImpl implements UserService {
         User user = repository.findById(userId)
                         .orElseThrow(() -> new NotFoundException("User not found"));
         repository.deleteById(userId);
+        eventPublisher.publishEvent(new UserEvent(userId));
         log.info("User with id {} successfully deleted", userId);
         return user;
     }
@@ -0,0 +1,18 @@
+CREATE TABLE IF NOT EXISTS bookings (
+  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+  start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  item_id BIGINT NOT NULL,
+  booker_id BIGINT NOT NULL,
+  status VARCHAR(50) NOT NULL,
+  version BIGINT DEFAULT 0 NOT NULL,
+  CONSTRAINT pk_booking PRIMARY KEY (id),
+  CONSTRAINT fk_booking_item_id FOREIGN KEY (item_id) REFERENCES items (id),
+  CONSTRAINT fk_booking_user_id FOREIGN KEY (booker_id) REFERENCES users (id)
+);
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS ix_bookings_item_status_start ON bookings (item_id, status, start_date DESC);
+CREATE INDEX IF NOT EXISTS ix_bookings_status_start ON bookings (status, start_date);
@@ -0,0 +1,14 @@
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS items_id_seq INCREMENT BY 50 OWNED BY items.id;
+
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_id_seq');
+
+SELECT setval('items_id_seq', (SELECT MAX(id) FROM items) + 50, false)
+WHERE (SELECT last_value FROM items_id_seq) <= (SELECT MAX(id) FROM items);
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS search_document tsvector
+  GENERATED ALWAYS AS (setweight(to_tsvector('simple', name), 'A') ||
+                       setweight(to_tsvector('simple', description), 'B')) STORED;
+
+CREATE INDEX IF NOT EXISTS ix_items_search_document ON items USING GIN (search_document);
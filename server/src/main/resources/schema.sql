@@ -27,25 +27,54 @@ CREATE TABLE IF NOT EXISTS items (
   CONSTRAINT fk_item_request_id FOREIGN KEY (request_id) REFERENCES requests (id)
 );
 
-CREATE TABLE IF NOT EXISTS bookings (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
-  start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-  end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
-  item_id BIGINT NOT NULL,
-  booker_id BIGINT NOT NULL,
-  status VARCHAR(50) NOT NULL,
-  CONSTRAINT pk_booking PRIMARY KEY (id),
-  CONSTRAINT fk_booking_item_id FOREIGN KEY (item_id) REFERENCES items (id),
-  CONSTRAINT fk_booking_user_id FOREIGN KEY (booker_id) REFERENCES users (id)
-);
-
 CREATE TABLE IF NOT EXISTS comments (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
   text VARCHAR(512) NOT NULL,
   item_id BIGINT NOT NULL,
   author_id BIGINT NOT NULL,
+  created TIMESTAMP WITHOUT TIME ZONE DEFAULT now() NOT NULL,
   CONSTRAINT pk_comment PRIMARY KEY (id),
   CONSTRAINT fk_comment_item_id FOREIGN KEY (item_id) REFERENCES items (id),
   CONSTRAINT fk_comment_user_id FOREIGN KEY (author_id) REFERENCES users (id)
 );
 
+CREATE INDEX IF NOT EXISTS ix_requests_created ON requests (created, id);
+
+CREATE INDEX IF NOT EXISTS ix_items_owner ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS ix_items_request ON items (request_id);
+
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS created TIMESTAMP WITHOUT TIME ZONE DEFAULT now() NOT NULL;
+
+CREATE INDEX IF NOT EXISTS ix_comments_item_created ON comments (item_id, created DESC, id DESC);
+
+CREATE TABLE IF NOT EXISTS job_leases (
+  name VARCHAR(100) NOT NULL,
+  holder VARCHAR(255) NOT NULL,
+  expires_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT pk_job_lease PRIMARY KEY (name)
+);
+
+CREATE TABLE IF NOT EXISTS job_completions (
+  name VARCHAR(100) NOT NULL,
+  completed_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT pk_job_completion PRIMARY KEY (name)
+);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+  request_key VARCHAR(320) NOT NULL,
+  request_hash VARCHAR(64) NOT NULL,
+  status VARCHAR(20) NOT NULL,
+  response_body TEXT,
+  expires_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT pk_idempotency_key PRIMARY KEY (request_key)
+);
+
+CREATE INDEX IF NOT EXISTS ix_idempotency_keys_expires ON idempotency_keys (expires_at);
+
+CREATE TABLE IF NOT EXISTS owner_booking_counters (
+  owner_id BIGINT NOT NULL,
+  status VARCHAR(50) NOT NULL,
+  booking_count BIGINT DEFAULT 0 NOT NULL,
+  CONSTRAINT pk_owner_booking_counter PRIMARY KEY (owner_id, status)
+);
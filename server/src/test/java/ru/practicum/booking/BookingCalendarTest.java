@@ -0,0 +1,80 @@
+package ru.practicum.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingCalendarTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingCalendar calendar;
+
+    private final LocalDateTime day = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).plusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        calendar = new BookingCalendar(bookingRepository, 31, 365);
+    }
+
+    @Test
+    void shouldReportWholeRangeFreeForUnknownItem() {
+        List<AvailabilitySpan> spans = calendar.getAvailability(7L, day, day.plusDays(1));
+
+        assertEquals(List.of(new AvailabilitySpan(day, day.plusDays(1), true)), spans);
+    }
+
+    @Test
+    void shouldSplitRangeIntoFreeAndBusySpans() {
+        when(bookingRepository.findIntervalsByStatusInAndEndAfter(anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of(new BookingInterval(1L, 7L, day.plusHours(2), day.plusHours(4))));
+        calendar.warmUp();
+        calendar.markBusy(7L, day.plusHours(4), day.plusHours(5));
+
+        List<AvailabilitySpan> spans = calendar.getAvailability(7L, day, day.plusHours(8));
+
+        assertEquals(List.of(
+                new AvailabilitySpan(day, day.plusHours(2), true),
+                new AvailabilitySpan(day.plusHours(2), day.plusHours(5), false),
+                new AvailabilitySpan(day.plusHours(5), day.plusHours(8), true)), spans);
+    }
+
+    @Test
+    void shouldMarkEveryHourTouchedByBookingAndClipToRequestedRange() {
+        calendar.markBusy(7L, day.plusMinutes(90), day.plusMinutes(150));
+
+        List<AvailabilitySpan> spans = calendar.getAvailability(7L, day.plusMinutes(70), day.plusMinutes(200));
+
+        assertEquals(List.of(
+                new AvailabilitySpan(day.plusMinutes(70), day.plusHours(3), false),
+                new AvailabilitySpan(day.plusHours(3), day.plusMinutes(200), true)), spans);
+    }
+
+    @Test
+    void shouldAnswerRangesBeyondHorizonFromRepository() {
+        LocalDateTime farDay = day.plusYears(500);
+        calendar.markBusy(7L, farDay, farDay.plusHours(2));
+        when(bookingRepository.findIntervalsByItemIdAndStatusOverlapping(7L, BookingStatus.APPROVED,
+                farDay, farDay.plusHours(4)))
+                .thenReturn(List.of(new BookingInterval(1L, 7L, farDay.plusMinutes(30), farDay.plusHours(2))));
+
+        List<AvailabilitySpan> spans = calendar.getAvailability(7L, farDay, farDay.plusHours(4));
+
+        assertEquals(List.of(
+                new AvailabilitySpan(farDay, farDay.plusHours(2), false),
+                new AvailabilitySpan(farDay.plusHours(2), farDay.plusHours(4), true)), spans);
+    }
+}
@@ -8,13 +8,17 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.idempotency.IdempotencyService;
+import ru.practicum.pagination.KeysetPage;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.function.Supplier;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -25,6 +29,9 @@ class BookingControllerTest {
     @Mock
     private BookingService bookingService;
 
+    @Mock
+    private IdempotencyService idempotencyService;
+
     @InjectMocks
     private BookingController bookingController;
 
@@ -35,6 +42,8 @@ class BookingControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(idempotencyService.execute(any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(5).get());
         mockMvc = MockMvcBuilders.standaloneSetup(bookingController).build();
 
         bookingDto = new BookingDto();
@@ -45,9 +54,7 @@ class BookingControllerTest {
 
     @Test
     void testRespondToBooking() throws Exception {
-        Booking booking = new Booking();
-        booking.setId(bookingId);
-        booking.setStatus(BookingStatus.APPROVED);
+        BookingResponseDto booking = createBookingResponse(bookingId, BookingStatus.APPROVED);
 
         when(bookingService.respondToBooking(eq(userId), eq(bookingId), eq(true)))
                 .thenReturn(booking);
@@ -57,15 +64,17 @@ class BookingControllerTest {
                         .param("approved", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(bookingId))
-                .andExpect(jsonPath("$.status").value("APPROVED"));
+                .andExpect(jsonPath("$.status").value("APPROVED"))
+                .andExpect(jsonPath("$.item.id").value(1L))
+                .andExpect(jsonPath("$.item.name").value("Drill"))
+                .andExpect(jsonPath("$.booker.id").value(2L));
 
         verify(bookingService, times(1)).respondToBooking(eq(userId), eq(bookingId), eq(true));
     }
 
     @Test
     void testGetBookingInfo() throws Exception {
-        Booking booking = new Booking();
-        booking.setId(bookingId);
+        BookingResponseDto booking = createBookingResponse(bookingId, BookingStatus.WAITING);
 
         when(bookingService.getBookingInfo(eq(userId), eq(bookingId))).thenReturn(booking);
 
@@ -79,40 +88,46 @@ class BookingControllerTest {
 
     @Test
     void testGetBookings() throws Exception {
-        Booking booking1 = new Booking();
-        booking1.setId(bookingId);
-        Booking booking2 = new Booking();
-        booking2.setId(bookingId + 1);
+        BookingResponseDto booking1 = createBookingResponse(bookingId, BookingStatus.WAITING);
+        BookingResponseDto booking2 = createBookingResponse(bookingId + 1, BookingStatus.APPROVED);
 
-        when(bookingService.getBookings(eq(userId))).thenReturn(Arrays.asList(booking1, booking2));
+        when(bookingService.getBookings(eq(userId), eq("ALL"), isNull(), eq(20)))
+                .thenReturn(new KeysetPage<>(Arrays.asList(booking1, booking2), "next"));
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", userId))
                 .andExpect(status().isOk())
+                .andExpect(header().string(KeysetPage.NEXT_CURSOR_HEADER, "next"))
                 .andExpect(jsonPath("$[0].id").value(bookingId))
                 .andExpect(jsonPath("$[1].id").value(bookingId + 1));
 
-        verify(bookingService, times(1)).getBookings(eq(userId));
+        verify(bookingService, times(1)).getBookings(eq(userId), eq("ALL"), isNull(), eq(20));
     }
 
     @Test
     void testGetBookingsByOwner() throws Exception {
-        Booking booking1 = new Booking();
-        booking1.setId(bookingId);
-        Booking booking2 = new Booking();
-        booking2.setId(bookingId + 1);
+        BookingResponseDto booking1 = createBookingResponse(bookingId, BookingStatus.WAITING);
+        BookingResponseDto booking2 = createBookingResponse(bookingId + 1, BookingStatus.APPROVED);
 
-        when(bookingService.getBookingsByOwner(eq(userId), eq("ALL")))
-                .thenReturn(Arrays.asList(booking1, booking2));
+        when(bookingService.getBookingsByOwner(eq(userId), eq("ALL"), eq("abc"), eq(2)))
+                .thenReturn(new KeysetPage<>(Arrays.asList(booking1, booking2), null));
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", userId)
-                        .param("state", "ALL"))
+                        .param("state", "ALL")
+                        .param("cursor", "abc")
+                        .param("size", "2"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(KeysetPage.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$[0].id").value(bookingId))
                 .andExpect(jsonPath("$[1].id").value(bookingId + 1));
 
-        verify(bookingService, times(1)).getBookingsByOwner(eq(userId), eq("ALL"));
+        verify(bookingService, times(1)).getBookingsByOwner(eq(userId), eq("ALL"), eq("abc"), eq(2));
+    }
+
+    private BookingResponseDto createBookingResponse(Long id, BookingStatus status) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        return new BookingResponseDto(id, start, start.plusDays(1), status, 1L, "Drill", 2L, "Booker");
     }
 
     private static String asJsonString(Object obj) {
@@ -0,0 +1,116 @@
+package ru.practicum.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.job.JobLeaseService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingExpiryJobTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    private JobLeaseService jobLeaseService;
+
+    @Mock
+    private OwnerBookingCounters ownerBookingCounters;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BookingExpiryJob job;
+
+    private final LocalDateTime start = LocalDateTime.now().minusHours(1);
+
+    @BeforeEach
+    void setUp() {
+        job = new BookingExpiryJob(bookingRepository, bookingIntervalIndex, jobLeaseService, ownerBookingCounters,
+                new TransactionTemplate(transactionManager), meterRegistry, 2, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void shouldSkipRunWithoutLease() {
+        when(jobLeaseService.tryAcquire(eq(BookingExpiryJob.LEASE_NAME), any())).thenReturn(false);
+
+        job.expireStaleBookings();
+
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void shouldCancelInChunksAndReleaseOnlyCancelledBookings() {
+        when(jobLeaseService.tryAcquire(eq(BookingExpiryJob.LEASE_NAME), any())).thenReturn(true);
+        when(bookingRepository.findIntervalsByStatusAndStartBefore(eq(BookingStatus.WAITING),
+                any(LocalDateTime.class), eq(Limit.of(2))))
+                .thenReturn(List.of(interval(1L), interval(2L)))
+                .thenReturn(List.of(interval(3L)));
+        when(bookingRepository.findIdsByIdInAndStatus(List.of(1L, 2L), BookingStatus.CANCELED))
+                .thenReturn(List.of(1L));
+        when(bookingRepository.findIdsByIdInAndStatus(List.of(3L), BookingStatus.CANCELED))
+                .thenReturn(List.of(3L));
+        when(bookingRepository.countByOwnerForIdsAndStatus(List.of(1L, 2L), BookingStatus.CANCELED))
+                .thenReturn(List.of(new OwnerBookingCount(5L, 1L)));
+        when(bookingRepository.countByOwnerForIdsAndStatus(List.of(3L), BookingStatus.CANCELED))
+                .thenReturn(List.of(new OwnerBookingCount(5L, 1L)));
+        when(bookingRepository.findEarliestStartByStatusAndStartBefore(eq(BookingStatus.WAITING),
+                any(LocalDateTime.class))).thenReturn(null);
+
+        job.expireStaleBookings();
+
+        verify(bookingRepository).updateStatusByIds(List.of(1L, 2L), BookingStatus.WAITING, BookingStatus.CANCELED);
+        verify(bookingRepository).updateStatusByIds(List.of(3L), BookingStatus.WAITING, BookingStatus.CANCELED);
+        verify(bookingIntervalIndex).release(7L, 1L);
+        verify(bookingIntervalIndex, never()).release(7L, 2L);
+        verify(bookingIntervalIndex).release(7L, 3L);
+        verify(ownerBookingCounters, times(2)).move(5L, BookingStatus.WAITING, BookingStatus.CANCELED, 1L);
+        assertEquals(2.0, meterRegistry.get("shareit.booking.expiry.expired").counter().count());
+        assertEquals(0.0, meterRegistry.get("shareit.booking.expiry.lag").gauge().value());
+    }
+
+    @Test
+    void shouldReportAgeOfOldestRemainingBookingAsLag() {
+        when(jobLeaseService.tryAcquire(eq(BookingExpiryJob.LEASE_NAME), any())).thenReturn(true);
+        when(bookingRepository.findIntervalsByStatusAndStartBefore(eq(BookingStatus.WAITING),
+                any(LocalDateTime.class), any(Limit.class))).thenReturn(List.of());
+        when(bookingRepository.findEarliestStartByStatusAndStartBefore(eq(BookingStatus.WAITING),
+                any(LocalDateTime.class))).thenReturn(LocalDateTime.now().minusMinutes(10));
+
+        job.expireStaleBookings();
+
+        double lag = meterRegistry.get("shareit.booking.expiry.lag").gauge().value();
+        assertEquals(600.0, lag, 5.0);
+        verify(bookingIntervalIndex, never()).release(anyLong(), anyLong());
+    }
+
+    private BookingInterval interval(Long bookingId) {
+        return new BookingInterval(bookingId, 7L, start, start.plusHours(2));
+    }
+}
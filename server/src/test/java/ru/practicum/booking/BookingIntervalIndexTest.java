@@ -0,0 +1,99 @@
+package ru.practicum.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.exception.ConflictException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingIntervalIndex index;
+
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingIntervalIndex(bookingRepository);
+    }
+
+    @Test
+    void shouldRejectOverlapWithWarmedUpBooking() {
+        when(bookingRepository.findIntervalsByStatusInAndEndAfter(anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of(new BookingInterval(1L, 7L, start, start.plusDays(10))));
+        index.warmUp();
+
+        assertThrows(ConflictException.class,
+                () -> index.reserve(7L, start.plusDays(4), start.plusDays(5), () -> booking(2L)));
+    }
+
+    @Test
+    void shouldAllowAdjacentPeriodsAndOtherItems() {
+        index.reserve(7L, start, start.plusDays(1), () -> booking(1L));
+
+        Booking adjacent = index.reserve(7L, start.plusDays(1), start.plusDays(2), () -> booking(2L));
+        Booking otherItem = index.reserve(8L, start, start.plusDays(1), () -> booking(3L));
+
+        assertEquals(2L, adjacent.getId());
+        assertEquals(3L, otherItem.getId());
+    }
+
+    @Test
+    void shouldAllowPeriodAgainAfterRelease() {
+        index.reserve(7L, start, start.plusDays(1), () -> booking(1L));
+        index.release(7L, 1L);
+
+        Booking booking = index.reserve(7L, start, start.plusDays(1), () -> booking(2L));
+
+        assertEquals(2L, booking.getId());
+    }
+
+    @Test
+    void shouldDropTimelineOnceItsLastBookingIsReleased() {
+        index.reserve(7L, start, start.plusDays(1), () -> booking(1L));
+        index.reserve(7L, start.plusDays(2), start.plusDays(3), () -> booking(2L));
+
+        index.release(7L, 1L);
+        assertEquals(1, index.trackedItems());
+        index.release(7L, 2L);
+
+        assertEquals(0, index.trackedItems());
+        assertEquals(3L, index.reserve(7L, start, start.plusDays(1), () -> booking(3L)).getId());
+    }
+
+    @Test
+    void shouldPruneEndedBookingsAndKeepCheckingAfterLongBookingIsReleased() {
+        LocalDateTime past = LocalDateTime.now().minusDays(10);
+        index.reserve(7L, past, past.plusDays(2), () -> booking(1L));
+        index.reserve(8L, start, start.plusDays(30), () -> booking(2L));
+        index.reserve(8L, start.plusDays(40), start.plusDays(41), () -> booking(3L));
+        index.release(8L, 2L);
+
+        index.prune();
+
+        assertEquals(1, index.trackedItems());
+        assertThrows(ConflictException.class,
+                () -> index.reserve(8L, start.plusDays(39), start.plusDays(41), () -> booking(4L)));
+        assertEquals(5L, index.reserve(8L, start, start.plusDays(30), () -> booking(5L)).getId());
+    }
+
+    private Booking booking(Long id) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        return booking;
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.job.JobLeaseRepository;
+import ru.practicum.job.JobLeaseService;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingPartitionManagerPostgresTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.sql.init.platform", () -> "postgresql");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldConvertUnpartitionedTableKeepingItsBookings() {
+        LocalDateTime lastYear = LocalDateTime.now().minusYears(1);
+        LocalDateTime nextWeek = LocalDateTime.now().plusWeeks(1);
+        jdbcTemplate.execute("DROP TABLE bookings CASCADE");
+        jdbcTemplate.execute("CREATE TABLE bookings (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                "start_date TIMESTAMP NOT NULL, end_date TIMESTAMP NOT NULL, item_id BIGINT NOT NULL, " +
+                "booker_id BIGINT NOT NULL, status VARCHAR(50) NOT NULL, version BIGINT DEFAULT 0 NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX ix_bookings_booker_start ON bookings (booker_id, start_date DESC)");
+        Long userId = jdbcTemplate.queryForObject("INSERT INTO users (name, email) " +
+                "VALUES ('booker', 'booker@example.com') RETURNING id", Long.class);
+        Long itemId = jdbcTemplate.queryForObject("INSERT INTO items (name, description, owner_id) " +
+                "VALUES ('Drill', 'Cordless drill', ?) RETURNING id", Long.class, userId);
+        jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "VALUES (?, ?, ?, ?, 'APPROVED'), (?, ?, ?, ?, 'WAITING')",
+                lastYear.minusDays(1), lastYear, itemId, userId, nextWeek.minusDays(1), nextWeek, itemId, userId);
+
+        manager().maintain();
+
+        assertEquals("p", jdbcTemplate.queryForObject(
+                "SELECT relkind FROM pg_class WHERE oid = to_regclass('bookings')", String.class));
+        assertEquals(List.of("APPROVED", "WAITING"),
+                jdbcTemplate.queryForList("SELECT status FROM bookings ORDER BY id", String.class));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bookings WHERE tableoid <> to_regclass('bookings_default')", Integer.class));
+        assertTrue(partitions().contains("bookings_p" + YearMonth.from(lastYear)
+                .format(DateTimeFormatter.ofPattern("yyyy_MM"))));
+        assertEquals(3L, jdbcTemplate.queryForObject("INSERT INTO bookings (start_date, end_date, item_id, " +
+                "booker_id, status) VALUES (now(), now(), ?, ?, 'WAITING') RETURNING id", Long.class, itemId, userId));
+    }
+
+    @Test
+    void shouldCreatePartitionsAheadOnceTableIsPartitioned() {
+        manager().maintain();
+        manager().maintain();
+
+        List<String> partitions = partitions();
+        assertTrue(partitions.contains("bookings_default"));
+        assertTrue(partitions.contains("bookings_p" + YearMonth.now().plusMonths(3)
+                .format(DateTimeFormatter.ofPattern("yyyy_MM"))));
+    }
+
+    private BookingPartitionManager manager() {
+        return new BookingPartitionManager(jdbcTemplate, new TransactionTemplate(transactionManager),
+                new JobLeaseService(jobLeaseRepository, "test"), 3, 0);
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c " +
+                "ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass('bookings')", String.class);
+    }
+}
@@ -0,0 +1,179 @@
+package ru.practicum.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import ru.practicum.item.Item;
+import ru.practicum.item.ItemRepository;
+import ru.practicum.pagination.Cursor;
+import ru.practicum.user.User;
+import ru.practicum.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+public class BookingRepositoryTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private final LocalDateTime now = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        owner = saveUser("owner@example.com");
+        booker = saveUser("booker@example.com");
+        item = new Item();
+        item.setName("Drill");
+        item.setDescription("Cordless drill");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        itemRepository.save(item);
+    }
+
+    @Test
+    public void shouldPageBookerBookingsByStartThenId() {
+        Booking first = saveBooking(now.plusDays(3), BookingStatus.WAITING);
+        Booking second = saveBooking(now.plusDays(2), BookingStatus.WAITING);
+        Booking third = saveBooking(now.plusDays(2), BookingStatus.APPROVED);
+
+        List<BookingResponseDto> firstPage = bookingRepository.findBookingsByUserId(booker.getId(),
+                Cursor.FIRST.getPosition(), Cursor.FIRST.getId(), Limit.of(2));
+        BookingResponseDto last = firstPage.get(1);
+        List<BookingResponseDto> secondPage = bookingRepository.findBookingsByUserId(booker.getId(),
+                last.getStart(), last.getId(), Limit.of(2));
+
+        assertEquals(List.of(first.getId(), third.getId()), firstPage.stream().map(BookingResponseDto::getId).toList());
+        assertEquals(List.of(second.getId()), secondPage.stream().map(BookingResponseDto::getId).toList());
+    }
+
+    @Test
+    public void shouldPageOwnerBookings() {
+        saveBooking(now.plusDays(3), BookingStatus.WAITING);
+        Booking approved = saveBooking(now.plusDays(2), BookingStatus.APPROVED);
+
+        List<BookingResponseDto> all = bookingRepository.findBookingsByOwner(owner.getId(),
+                Cursor.FIRST.getPosition(), Cursor.FIRST.getId(), Limit.of(10));
+        List<BookingResponseDto> onlyApproved = bookingRepository.findBookingsByOwnerAndStatus(owner.getId(),
+                BookingStatus.APPROVED, Cursor.FIRST.getPosition(), Cursor.FIRST.getId(), Limit.of(10));
+
+        assertEquals(2, all.size());
+        assertEquals("Drill", all.get(0).getItem().getName());
+        assertEquals(booker.getId(), all.get(0).getBooker().getId());
+        assertEquals(List.of(approved.getId()), onlyApproved.stream().map(BookingResponseDto::getId).toList());
+    }
+
+    @Test
+    public void shouldFilterBookerBookingsByTime() {
+        Booking past = saveBooking(now.minusDays(2), BookingStatus.APPROVED);
+        Booking current = saveBooking(now.minusHours(1), BookingStatus.APPROVED);
+        Booking future = saveBooking(now.plusDays(1), BookingStatus.WAITING);
+
+        assertEquals(List.of(past.getId()), ids(bookingRepository.findPastBookingsByUserId(booker.getId(), now,
+                Cursor.FIRST.getPosition(), Cursor.FIRST.getId(), Limit.of(10))));
+        assertEquals(List.of(current.getId()), ids(bookingRepository.findCurrentBookingsByUserId(booker.getId(), now,
+                Cursor.FIRST.getPosition(), Cursor.FIRST.getId(), Limit.of(10))));
+        assertEquals(List.of(future.getId()), ids(bookingRepository.findFutureBookingsByUserId(booker.getId(), now,
+                Cursor.FIRST.getPosition(), Cursor.FIRST.getId(), Limit.of(10))));
+    }
+
+    @Test
+    public void shouldFilterOwnerBookingsByTime() {
+        Booking past = saveBooking(now.minusDays(2), BookingStatus.APPROVED);
+        Booking current = saveBooking(now.minusHours(1), BookingStatus.APPROVED);
+        Booking future = saveBooking(now.plusDays(1), BookingStatus.WAITING);
+
+        assertEquals(List.of(past.getId()), ids(bookingRepository.findPastBookingsByOwner(owner.getId(), now,
+                Cursor.FIRST.getPosition(), Cursor.FIRST.getId(), Limit.of(10))));
+        assertEquals(List.of(current.getId()), ids(bookingRepository.findCurrentBookingsByOwner(owner.getId(), now,
+                Cursor.FIRST.getPosition(), Cursor.FIRST.getId(), Limit.of(10))));
+        assertEquals(List.of(future.getId()), ids(bookingRepository.findFutureBookingsByOwner(owner.getId(), now,
+                Cursor.FIRST.getPosition(), Cursor.FIRST.getId(), Limit.of(10))));
+    }
+
+    @Test
+    public void shouldUpdateStatusOnlyFromExpectedStateAndVersion() {
+        Booking booking = saveBooking(now.plusDays(1), BookingStatus.WAITING);
+        Long version = booking.getVersion();
+
+        int first = bookingRepository.updateStatus(booking.getId(), BookingStatus.WAITING, version,
+                BookingStatus.APPROVED);
+        int second = bookingRepository.updateStatus(booking.getId(), BookingStatus.WAITING, version,
+                BookingStatus.REJECTED);
+
+        Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertEquals(1, first);
+        assertEquals(0, second);
+        assertEquals(BookingStatus.APPROVED, stored.getStatus());
+        assertEquals(version + 1, stored.getVersion());
+    }
+
+    @Test
+    public void shouldCancelOnlyWaitingBookingsPastTheirStart() {
+        Booking stale = saveBooking(now.minusHours(1), BookingStatus.WAITING);
+        Booking approved = saveBooking(now.minusHours(2), BookingStatus.APPROVED);
+        saveBooking(now.plusHours(1), BookingStatus.WAITING);
+
+        List<Long> candidates = bookingRepository.findIntervalsByStatusAndStartBefore(BookingStatus.WAITING, now,
+                Limit.of(10)).stream().map(BookingInterval::getBookingId).toList();
+        int updated = bookingRepository.updateStatusByIds(List.of(stale.getId(), approved.getId()),
+                BookingStatus.WAITING, BookingStatus.CANCELED);
+
+        assertEquals(List.of(stale.getId()), candidates);
+        assertEquals(1, updated);
+        assertEquals(List.of(stale.getId()), bookingRepository.findIdsByIdInAndStatus(
+                List.of(stale.getId(), approved.getId()), BookingStatus.CANCELED));
+        assertEquals(now.plusHours(1), bookingRepository.findEarliestStartByStatusAndStartBefore(
+                BookingStatus.WAITING, now.plusDays(1)));
+    }
+
+    private List<Long> ids(List<BookingResponseDto> bookings) {
+        return bookings.stream().map(BookingResponseDto::getId).toList();
+    }
+
+    @Test
+    public void shouldCountOwnerBookingsByStatus() {
+        saveBooking(now.plusDays(1), BookingStatus.WAITING);
+        saveBooking(now.plusDays(2), BookingStatus.WAITING);
+        saveBooking(now.plusDays(3), BookingStatus.APPROVED);
+
+        Map<BookingStatus, Long> counts = bookingRepository.countByStatusForOwner(owner.getId()).stream()
+                .collect(Collectors.toMap(OwnerBookingCounter::getStatus, OwnerBookingCounter::getCount));
+
+        assertEquals(Map.of(BookingStatus.WAITING, 2L, BookingStatus.APPROVED, 1L), counts);
+        assertEquals(List.of(), bookingRepository.countByStatusForOwner(booker.getId()));
+    }
+
+    private User saveUser(String email) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        return userRepository.save(user);
+    }
+
+    private Booking saveBooking(LocalDateTime start, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(start.plusHours(5));
+        booking.setStatus(status);
+        return bookingRepository.save(booking);
+    }
+}
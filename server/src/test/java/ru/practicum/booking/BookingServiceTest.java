@@ -1,24 +1,46 @@
 package ru.practicum.booking;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.exception.ConflictException;
 import ru.practicum.exception.InvalidBookingException;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.exception.ValidationException;
 import ru.practicum.item.Item;
 import ru.practicum.item.ItemRepository;
+import ru.practicum.pagination.Cursor;
+import ru.practicum.pagination.KeysetPage;
+import ru.practicum.stream.EventStreamRegistry;
 import ru.practicum.user.User;
+import ru.practicum.user.UserCache;
 import ru.practicum.user.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,9 +56,26 @@ public class BookingServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    private BookingCalendar bookingCalendar;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EventStreamRegistry bookingEventStream;
+
+    @Mock
+    private OwnerBookingCounters ownerBookingCounters;
+
     @BeforeEach
     public void setup() {
-        bookingService = new BookingService(bookingRepository, userRepository, itemRepository);
+        bookingIntervalIndex = new BookingIntervalIndex(bookingRepository);
+        bookingCalendar = new BookingCalendar(bookingRepository, 31, 365);
+        UserCache userCache = new UserCache(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+        bookingService = new BookingService(bookingRepository, userCache, itemRepository, bookingIntervalIndex,
+                bookingCalendar, eventPublisher, bookingEventStream, ownerBookingCounters);
     }
 
     @Test
@@ -47,11 +86,54 @@ public class BookingServiceTest {
         Booking booking = createBooking(1L, item, booker, BookingStatus.WAITING);
         when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
         when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
+        when(bookingRepository.updateStatus(1L, BookingStatus.WAITING, 0L, BookingStatus.APPROVED)).thenReturn(1);
 
-        Booking result = bookingService.respondToBooking(1L, 1L, true);
+        BookingResponseDto result = bookingService.respondToBooking(1L, 1L, true);
 
         assertEquals(BookingStatus.APPROVED, result.getStatus());
-        verify(bookingRepository).save(booking);
+        assertEquals(1L, booking.getVersion());
+        assertFalse(bookingCalendar.getAvailability(1L, booking.getStart(), booking.getEnd()).get(0).isFree());
+    }
+
+    @Test
+    void shouldMarkCalendarBusyOnlyAfterApprovalCommits() {
+        User owner = createUser(1L, "Owner", "owner@example.com");
+        User booker = createUser(2L, "Booker", "booker@example.com");
+        Item item = createItem(1L, "Item", "Description", owner);
+        Booking booking = createBooking(1L, item, booker, BookingStatus.WAITING);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
+        when(bookingRepository.updateStatus(1L, BookingStatus.WAITING, 0L, BookingStatus.APPROVED)).thenReturn(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookingService.respondToBooking(1L, 1L, true);
+            assertTrue(bookingCalendar.getAvailability(1L, booking.getStart(), booking.getEnd()).get(0).isFree());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertFalse(bookingCalendar.getAvailability(1L, booking.getStart(), booking.getEnd()).get(0).isFree());
+    }
+
+    @Test
+    void shouldPublishBookingEventForOwnerWhenResponding() {
+        User owner = createUser(1L, "Owner", "owner@example.com");
+        User booker = createUser(2L, "Booker", "booker@example.com");
+        Item item = createItem(1L, "Item", "Description", owner);
+        Booking booking = createBooking(1L, item, booker, BookingStatus.WAITING);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
+        when(bookingRepository.updateStatus(1L, BookingStatus.WAITING, 0L, BookingStatus.APPROVED)).thenReturn(1);
+        ArgumentCaptor<BookingEvent> event = ArgumentCaptor.forClass(BookingEvent.class);
+
+        bookingService.respondToBooking(1L, 1L, true);
+
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(1L, event.getValue().getOwnerId());
+        assertEquals(BookingStatus.APPROVED, event.getValue().getBooking().getStatus());
+        assertEquals(2L, event.getValue().getBooking().getBooker().getId());
     }
 
     @Test
@@ -64,10 +146,28 @@ public class BookingServiceTest {
         when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
         when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
 
-        Booking result = bookingService.respondToBooking(1L, 1L, false);
+        when(bookingRepository.updateStatus(1L, BookingStatus.WAITING, 0L, BookingStatus.REJECTED)).thenReturn(1);
+
+        BookingResponseDto result = bookingService.respondToBooking(1L, 1L, false);
 
         assertEquals(BookingStatus.REJECTED, result.getStatus());
-        verify(bookingRepository).save(booking);
+        verify(ownerBookingCounters).move(1L, BookingStatus.WAITING, BookingStatus.REJECTED, 1);
+    }
+
+    @Test
+    void shouldThrowConflictIfBookingChangedConcurrently() {
+        User owner = createUser(1L, "Owner", "owner@example.com");
+        User booker = createUser(2L, "Booker", "booker@example.com");
+        Item item = createItem(1L, "Item", "Description", owner);
+        Booking booking = createBooking(1L, item, booker, BookingStatus.WAITING);
+
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
+        when(bookingRepository.updateStatus(1L, BookingStatus.WAITING, 0L, BookingStatus.APPROVED)).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> bookingService.respondToBooking(1L, 1L, true));
+        verify(eventPublisher, never()).publishEvent(any());
+        verifyNoInteractions(ownerBookingCounters);
     }
 
     @Test
@@ -122,7 +222,24 @@ public class BookingServiceTest {
 
         InvalidBookingException exception = assertThrows(InvalidBookingException.class,
                 () -> bookingService.respondToBooking(1L, 1L, false));
-        assertEquals("Booking has already been responded to", exception.getMessage());
+        assertEquals("Booking is no longer awaiting approval, its status is APPROVED", exception.getMessage());
+    }
+
+    @Test
+    void shouldThrowExceptionIfBookingExpiredBeforeResponse() {
+        User owner = createUser(1L, "Owner", "owner@example.com");
+        User booker = createUser(2L, "Booker", "booker@example.com");
+        Item item = createItem(1L, "Item", "Description", owner);
+        Booking booking = createBooking(1L, item, booker, BookingStatus.CANCELED);
+
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
+
+        InvalidBookingException exception = assertThrows(InvalidBookingException.class,
+                () -> bookingService.respondToBooking(1L, 1L, true));
+        assertEquals("Booking is no longer awaiting approval, its status is CANCELED", exception.getMessage());
+        verify(bookingRepository, never()).updateStatus(any(), any(), any(), any());
+        verifyNoInteractions(ownerBookingCounters);
     }
 
     @Test
@@ -159,6 +276,130 @@ public class BookingServiceTest {
         assertEquals("Item not found", exception.getMessage());
     }
 
+    @Test
+    void shouldCreateBookingForFreePeriod() {
+        User owner = createUser(1L, "Owner", "owner@example.com");
+        User booker = createUser(2L, "Booker", "booker@example.com");
+        Item item = createItem(1L, "Item", "Description", owner);
+        item.setAvailable(true);
+        BookingDto bookingDto = createBookingDto(1L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+
+        when(userRepository.findById(2L)).thenReturn(Optional.of(booker));
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking saved = invocation.getArgument(0);
+            saved.setId(10L);
+            return saved;
+        });
+
+        BookingResponseDto result = bookingService.createBooking(2L, bookingDto);
+
+        assertEquals(10L, result.getId());
+        assertEquals(BookingStatus.WAITING, result.getStatus());
+        verify(ownerBookingCounters).add(1L, BookingStatus.WAITING, 1);
+    }
+
+    @Test
+    void shouldReturnOwnerSummaryFromCounters() {
+        Map<BookingStatus, Long> counts = Map.of(BookingStatus.WAITING, 2L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(createUser(1L, "Owner", "owner@example.com")));
+        when(ownerBookingCounters.getCounts(1L)).thenReturn(counts);
+
+        assertEquals(counts, bookingService.getOwnerSummary(1L));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void shouldThrowExceptionIfPeriodOverlapsExistingBooking() {
+        User owner = createUser(1L, "Owner", "owner@example.com");
+        User booker = createUser(2L, "Booker", "booker@example.com");
+        Item item = createItem(1L, "Item", "Description", owner);
+        item.setAvailable(true);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        when(userRepository.findById(2L)).thenReturn(Optional.of(booker));
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking saved = invocation.getArgument(0);
+            saved.setId(10L);
+            return saved;
+        });
+        bookingService.createBooking(2L, createBookingDto(1L, start, start.plusDays(2)));
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> bookingService.createBooking(2L, createBookingDto(1L, start.plusDays(1), start.plusDays(3))));
+        assertEquals("Item is already booked for the requested period", exception.getMessage());
+        verify(bookingRepository, times(1)).save(any(Booking.class));
+    }
+
+    @Test
+    void shouldFreePeriodWhenBookingRejected() {
+        User owner = createUser(1L, "Owner", "owner@example.com");
+        User booker = createUser(2L, "Booker", "booker@example.com");
+        Item item = createItem(1L, "Item", "Description", owner);
+        item.setAvailable(true);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(booker));
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking saved = invocation.getArgument(0);
+            if (saved.getId() == null) {
+                saved.setId(10L);
+            }
+            return saved;
+        });
+        Booking booking = createBooking(10L, item, booker, BookingStatus.WAITING);
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(2));
+        bookingService.createBooking(2L, createBookingDto(1L, start, start.plusDays(2)));
+        when(bookingRepository.findById(10L)).thenReturn(Optional.of(booking));
+        when(bookingRepository.updateStatus(10L, BookingStatus.WAITING, 0L, BookingStatus.REJECTED)).thenReturn(1);
+
+        bookingService.respondToBooking(1L, 10L, false);
+        BookingResponseDto rebooked = bookingService.createBooking(2L, createBookingDto(1L, start, start.plusDays(2)));
+
+        assertEquals(BookingStatus.WAITING, rebooked.getStatus());
+    }
+
+    @Test
+    void shouldQueryCurrentOwnerBookingsForCurrentState() {
+        BookingResponseDto booking = new BookingResponseDto(1L, LocalDateTime.now().minusHours(1),
+                LocalDateTime.now().plusHours(1), BookingStatus.APPROVED, 1L, "Item", 2L, "Booker");
+        when(bookingRepository.findCurrentBookingsByOwner(eq(1L), any(LocalDateTime.class),
+                eq(Cursor.FIRST.getPosition()), eq(Cursor.FIRST.getId()), eq(Limit.of(21))))
+                .thenReturn(List.of(booking));
+
+        KeysetPage<BookingResponseDto> page = bookingService.getBookingsByOwner(1L, "current", null, 20);
+
+        assertEquals(List.of(booking), page.getContent());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void shouldQueryBookerBookingsByStatusForWaitingState() {
+        bookingService.getBookings(2L, "WAITING", null, 20);
+
+        verify(bookingRepository).findBookingsByUserIdAndStatus(eq(2L), eq(BookingStatus.WAITING),
+                eq(Cursor.FIRST.getPosition()), eq(Cursor.FIRST.getId()), eq(Limit.of(21)));
+    }
+
+    @Test
+    void shouldThrowExceptionForUnknownState() {
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> bookingService.getBookingsByOwner(1L, "UNSUPPORTED", null, 20));
+        assertEquals("Unknown state: UNSUPPORTED", exception.getMessage());
+    }
+
+    private BookingDto createBookingDto(Long itemId, LocalDateTime start, LocalDateTime end) {
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setItemId(itemId);
+        bookingDto.setStart(start);
+        bookingDto.setEnd(end);
+        return bookingDto;
+    }
+
     private User createUser(Long id, String name, String email) {
         User user = new User();
         user.setId(id);
@@ -182,6 +423,7 @@ public class BookingServiceTest {
         booking.setItem(item);
         booking.setBooker(booker);
         booking.setStatus(status);
+        booking.setVersion(0L);
         booking.setStart(LocalDateTime.now());
         booking.setEnd(LocalDateTime.now().plusDays(1));
         return booking;
@@ -0,0 +1,155 @@
+package ru.practicum.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.item.Item;
+import ru.practicum.item.ItemRepository;
+import ru.practicum.job.JobCompletionRepository;
+import ru.practicum.job.JobLeaseRepository;
+import ru.practicum.job.JobLeaseService;
+import ru.practicum.user.User;
+import ru.practicum.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MaterializedOwnerBookingCountersPostgresTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.sql.init.platform", () -> "postgresql");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+    }
+
+    @Autowired
+    private OwnerBookingCounterRepository counterRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobCompletionRepository jobCompletionRepository;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+    private MaterializedOwnerBookingCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS bookings_default PARTITION OF bookings DEFAULT");
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        counters = new MaterializedOwnerBookingCounters(counterRepository, jobCompletionRepository,
+                new JobLeaseService(jobLeaseRepository, "test"), transactionTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        counterRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+        jobCompletionRepository.deleteAll();
+        jobLeaseRepository.deleteAll();
+    }
+
+    @Test
+    void shouldCreateCounterOnFirstUseAndMoveBookingsBetweenStatuses() {
+        transactionTemplate.executeWithoutResult(status -> {
+            counters.add(1L, BookingStatus.WAITING, 1);
+            counters.add(1L, BookingStatus.WAITING, 1);
+            counters.move(1L, BookingStatus.WAITING, BookingStatus.APPROVED, 1);
+        });
+
+        Map<BookingStatus, Long> counts = counters.getCounts(1L);
+
+        assertEquals(1L, counts.get(BookingStatus.WAITING));
+        assertEquals(1L, counts.get(BookingStatus.APPROVED));
+        assertEquals(0L, counts.get(BookingStatus.REJECTED));
+        assertEquals(0L, counters.getCounts(2L).get(BookingStatus.WAITING));
+    }
+
+    @Test
+    void shouldRecountStaleCountersFromBookings() {
+        User owner = saveUser("owner@example.com");
+        User booker = saveUser("booker@example.com");
+        Item item = new Item();
+        item.setName("Drill");
+        item.setDescription("Cordless drill");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        itemRepository.save(item);
+        saveBooking(item, booker, BookingStatus.WAITING);
+        saveBooking(item, booker, BookingStatus.WAITING);
+        saveBooking(item, booker, BookingStatus.APPROVED);
+        transactionTemplate.executeWithoutResult(status -> {
+            counters.add(owner.getId(), BookingStatus.WAITING, 5);
+            counters.add(owner.getId(), BookingStatus.REJECTED, 1);
+        });
+
+        counters.initialize();
+
+        Map<BookingStatus, Long> counts = counters.getCounts(owner.getId());
+        assertEquals(2L, counts.get(BookingStatus.WAITING));
+        assertEquals(1L, counts.get(BookingStatus.APPROVED));
+        assertEquals(0L, counts.get(BookingStatus.REJECTED));
+    }
+
+    private User saveUser(String email) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        return userRepository.save(user);
+    }
+
+    private void saveBooking(Item item, User booker, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(LocalDateTime.now().plusDays(1));
+        booking.setEnd(LocalDateTime.now().plusDays(2));
+        booking.setStatus(status);
+        bookingRepository.save(booking);
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.job.JobCompletionRepository;
+import ru.practicum.job.JobLeaseRepository;
+import ru.practicum.job.JobLeaseService;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MaterializedOwnerBookingCountersTest {
+
+    @Autowired
+    private JobCompletionRepository jobCompletionRepository;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        jobCompletionRepository.deleteAll();
+        jobLeaseRepository.deleteAll();
+    }
+
+    @Test
+    void shouldRecountCountersOnceAndMarkThemInitialized() {
+        OwnerBookingCounterRepository repository = mock(OwnerBookingCounterRepository.class);
+        MaterializedOwnerBookingCounters initializer = initializer(repository);
+
+        initializer.initialize();
+        initializer.initialize();
+        initializer(repository).initialize();
+
+        verify(repository).lockForRecount();
+        verify(repository).recount();
+        verify(repository).resetUncounted();
+        assertTrue(jobCompletionRepository.existsById(MaterializedOwnerBookingCounters.LEASE_NAME));
+    }
+
+    @Test
+    void shouldRetryFailedRecount() {
+        OwnerBookingCounterRepository repository = mock(OwnerBookingCounterRepository.class);
+        when(repository.recount()).thenThrow(new QueryTimeoutException("timeout")).thenReturn(3);
+        MaterializedOwnerBookingCounters initializer = initializer(repository);
+
+        initializer.initialize();
+        assertFalse(jobCompletionRepository.existsById(MaterializedOwnerBookingCounters.LEASE_NAME));
+
+        initializer.initialize();
+        assertTrue(jobCompletionRepository.existsById(MaterializedOwnerBookingCounters.LEASE_NAME));
+        verify(repository, times(2)).recount();
+    }
+
+    private MaterializedOwnerBookingCounters initializer(OwnerBookingCounterRepository repository) {
+        return new MaterializedOwnerBookingCounters(repository, jobCompletionRepository,
+                new JobLeaseService(jobLeaseRepository, "test"), new TransactionTemplate(transactionManager));
+    }
+}
@@ -0,0 +1,160 @@
+package ru.practicum.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.exception.ConflictException;
+import ru.practicum.exception.ValidationException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyRepository idempotencyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private IdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        service = newService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRepository.deleteAll();
+    }
+
+    @Test
+    void shouldReplayStoredResponseWithoutRunningActionAgain() {
+        String first = service.execute(1L, "create", "key", Map.of("name", "Drill"), String.class, this::create);
+        String replayed = service.execute(1L, "create", "key", Map.of("name", "Drill"), String.class, this::create);
+        String fromTable = newService().execute(1L, "create", "key", Map.of("name", "Drill"), String.class,
+                this::create);
+
+        assertEquals("created-1", first);
+        assertEquals("created-1", replayed);
+        assertEquals("created-1", fromTable);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void shouldScopeKeysByUserAndOperation() {
+        service.execute(1L, "create", "key", Map.of(), String.class, this::create);
+        service.execute(2L, "create", "key", Map.of(), String.class, this::create);
+        service.execute(1L, "other", "key", Map.of(), String.class, this::create);
+
+        assertEquals(3, executions.get());
+    }
+
+    @Test
+    void shouldRejectKeyReusedForDifferentRequest() {
+        service.execute(1L, "create", "key", Map.of("name", "Drill"), String.class, this::create);
+
+        assertThrows(ValidationException.class, () -> service.execute(1L, "create", "key",
+                Map.of("name", "Saw"), String.class, this::create));
+    }
+
+    @Test
+    void shouldReleaseKeyWhenActionFails() {
+        assertThrows(IllegalStateException.class, () -> service.execute(1L, "create", "key", Map.of(),
+                String.class, () -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        assertEquals("created-1", service.execute(1L, "create", "key", Map.of(), String.class, this::create));
+    }
+
+    @Test
+    void shouldReportConflictWhileOriginalRequestIsInProgress() {
+        service.execute(1L, "create", "other", Map.of(), String.class, this::create);
+        String hash = idempotencyRepository.findById("1:create:other").orElseThrow().getRequestHash();
+        idempotencyRepository.insertPending("1:create:key", hash, LocalDateTime.now().plusMinutes(1));
+
+        assertThrows(ConflictException.class, () -> service.execute(1L, "create", "key", Map.of(),
+                String.class, this::create));
+    }
+
+    @Test
+    void shouldTakeOverAbandonedPendingKey() {
+        idempotencyRepository.insertPending("1:create:key", "abandoned", LocalDateTime.now().minusSeconds(1));
+
+        assertEquals("created-1", service.execute(1L, "create", "key", Map.of(), String.class, this::create));
+    }
+
+    @Test
+    void shouldKeepReservationOfRunningActionAlive() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> slow = executor.submit(() -> service.execute(1L, "create", "key", Map.of(),
+                    String.class, () -> {
+                        started.countDown();
+                        await(release);
+                        return create();
+                    }));
+            started.await();
+            IdempotencyRecord pending = idempotencyRepository.findById("1:create:key").orElseThrow();
+            pending.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+            idempotencyRepository.save(pending);
+
+            service.extendRunning();
+
+            assertThrows(ConflictException.class, () -> service.execute(1L, "create", "key", Map.of(),
+                    String.class, this::create));
+            release.countDown();
+            assertEquals("created-1", slow.get(10, TimeUnit.SECONDS));
+            assertEquals(1, executions.get());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String create() {
+        return "created-" + executions.incrementAndGet();
+    }
+
+    private IdempotencyService newService() {
+        return new IdempotencyService(idempotencyRepository, new TransactionTemplate(transactionManager),
+                objectMapper, new SimpleMeterRegistry(), Duration.ofHours(1), Duration.ofMinutes(1), 100);
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import ru.practicum.pagination.Cursor;
+import ru.practicum.user.User;
+import ru.practicum.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+public class CommentRepositoryTest {
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User author;
+    private Item drill;
+    private Item saw;
+    private final LocalDateTime now = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        author = saveUser("author@example.com");
+        drill = saveItem("Drill");
+        saw = saveItem("Saw");
+    }
+
+    @Test
+    public void shouldPageItemCommentsNewestFirstWithAuthorName() {
+        Comment oldest = saveComment(drill, now.minusDays(2));
+        Comment middle = saveComment(drill, now.minusDays(1));
+        Comment newest = saveComment(drill, now);
+        saveComment(saw, now);
+
+        List<CommentDto> firstPage = commentRepository.findByItemId(drill.getId(), Cursor.FIRST.getPosition(),
+                Cursor.FIRST.getId(), Limit.of(2));
+        CommentDto last = firstPage.get(1);
+        List<CommentDto> secondPage = commentRepository.findByItemId(drill.getId(), last.getCreated(), last.getId(),
+                Limit.of(2));
+
+        assertEquals(List.of(newest.getId(), middle.getId()), firstPage.stream().map(CommentDto::getId).toList());
+        assertEquals(List.of(oldest.getId()), secondPage.stream().map(CommentDto::getId).toList());
+        assertEquals("author@example.com", firstPage.get(0).getAuthorName());
+    }
+
+    @Test
+    public void shouldReturnLatestCommentsAndCountPerItem() {
+        saveComment(drill, now.minusDays(2));
+        Comment middle = saveComment(drill, now.minusDays(1));
+        Comment newest = saveComment(drill, now);
+        Comment sawComment = saveComment(saw, now);
+
+        List<ItemCommentView> latest = commentRepository.findLatestByItemIds(List.of(drill.getId(), saw.getId()), 2);
+
+        List<ItemCommentView> drillComments = latest.stream()
+                .filter(comment -> comment.getItemId().equals(drill.getId())).toList();
+        List<ItemCommentView> sawComments = latest.stream()
+                .filter(comment -> comment.getItemId().equals(saw.getId())).toList();
+        assertEquals(List.of(newest.getId(), middle.getId()), drillComments.stream().map(ItemCommentView::getId)
+                .toList());
+        assertEquals(3L, drillComments.get(0).getTotal());
+        assertEquals(List.of(sawComment.getId()), sawComments.stream().map(ItemCommentView::getId).toList());
+        assertEquals(1L, sawComments.get(0).getTotal());
+    }
+
+    private User saveUser(String email) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        return userRepository.save(user);
+    }
+
+    private Item saveItem(String name) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(name);
+        item.setAvailable(true);
+        item.setOwner(author);
+        return itemRepository.save(item);
+    }
+
+    private Comment saveComment(Item item, LocalDateTime created) {
+        Comment comment = new Comment();
+        comment.setItem(item);
+        comment.setAuthor(author);
+        comment.setText("Fine");
+        comment.setCreated(created);
+        return commentRepository.save(comment);
+    }
+}
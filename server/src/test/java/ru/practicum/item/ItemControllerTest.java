@@ -9,12 +9,19 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.booking.AvailabilitySpan;
+import ru.practicum.idempotency.IdempotencyService;
+import ru.practicum.pagination.KeysetPage;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -25,6 +32,9 @@ class ItemControllerTest {
     @Mock
     private ItemServiceImpl itemService;
 
+    @Mock
+    private IdempotencyService idempotencyService;
+
     @InjectMocks
     private ItemController itemController;
 
@@ -35,6 +45,8 @@ class ItemControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(idempotencyService.execute(any(), any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(5).get());
         mockMvc = MockMvcBuilders.standaloneSetup(itemController).build();
 
         itemDto = new ItemDto();
@@ -93,10 +105,10 @@ class ItemControllerTest {
 
     @Test
     void testGetAllItems() throws Exception {
-        Item item1 = new Item();
+        ItemDto item1 = new ItemDto();
         item1.setId(itemId);
         item1.setName("Item 1");
-        Item item2 = new Item();
+        ItemDto item2 = new ItemDto();
         item2.setId(itemId + 1);
         item2.setName("Item 2");
 
@@ -117,14 +129,16 @@ class ItemControllerTest {
         item1.setId(itemId);
         item1.setName("Item 1");
 
-        when(itemService.search(eq("item"))).thenReturn(Arrays.asList(item1));
+        when(itemService.search(eq("item"), eq(10), eq(5))).thenReturn(Arrays.asList(item1));
 
         mockMvc.perform(get("/items/search")
-                        .param("text", "item"))
+                        .param("text", "item")
+                        .param("from", "10")
+                        .param("size", "5"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(itemId));
 
-        verify(itemService, times(1)).search(eq("item"));
+        verify(itemService, times(1)).search(eq("item"), eq(10), eq(5));
     }
 
     private static String asJsonString(Object obj) {
@@ -134,4 +148,34 @@ class ItemControllerTest {
             throw new RuntimeException(e);
         }
     }
+
+    @Test
+    void testGetAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        when(itemService.getAvailability(itemId, from, to)).thenReturn(List.of(
+                new AvailabilitySpan(from, from.plusHours(10), true),
+                new AvailabilitySpan(from.plusHours(10), to, false)));
+
+        mockMvc.perform(get("/items/{itemId}/availability", itemId)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-02T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].free").value(true))
+                .andExpect(jsonPath("$[1].free").value(false));
+    }
+
+    @Test
+    void testGetCommentsPage() throws Exception {
+        CommentDto comment = new CommentDto(5L, "Great", "Booker", LocalDateTime.of(2030, 1, 1, 12, 0));
+        when(itemService.getComments(itemId, "abc", 1)).thenReturn(new KeysetPage<>(List.of(comment), "next"));
+
+        mockMvc.perform(get("/items/{itemId}/comments", itemId)
+                        .param("cursor", "abc")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(KeysetPage.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$[0].authorName").value("Booker"));
+    }
 }
@@ -0,0 +1,101 @@
+package ru.practicum.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.practicum.booking.BookingEvent;
+import ru.practicum.booking.BookingResponseDto;
+import ru.practicum.booking.BookingStatus;
+import ru.practicum.user.UserEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemDetailsCacheTest {
+    private final ItemDetailsCache cache = new ItemDetailsCache(new SimpleMeterRegistry(), 100,
+            Duration.ofMinutes(10));
+    private static final Long OWNER_ID = 7L;
+    private static final Long AUTHOR_ID = 8L;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void shouldLoadItemOnceUntilItChanges() {
+        load(1L);
+        load(1L);
+        cache.onItemChanged(new ItemEvent(item(1L), item(1L)));
+        load(1L);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldEvictItemOnlyWhenOneOfItsBookingsIsApproved() {
+        load(1L);
+        cache.onBookingChanged(bookingEvent(1L, BookingStatus.REJECTED));
+        load(1L);
+        cache.onBookingChanged(bookingEvent(2L, BookingStatus.APPROVED));
+        load(1L);
+        cache.onBookingChanged(bookingEvent(1L, BookingStatus.APPROVED));
+        load(1L);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldTreatOwnerBookingsAsStaleFromTheirValidityEnd() {
+        LocalDateTime until = LocalDateTime.now().plusHours(1);
+        ItemDetailsCache.OwnerBookings bookings = new ItemDetailsCache.OwnerBookings(null, null, until);
+
+        assertTrue(bookings.isValidAt(until.minusSeconds(1)));
+        assertFalse(bookings.isValidAt(until));
+    }
+
+    @Test
+    void shouldEvictItemsShowingChangedUser() {
+        load(1L);
+        load(2L);
+        cache.onUserChanged(new UserEvent(OWNER_ID));
+        load(1L);
+        load(2L);
+        cache.onUserChanged(new UserEvent(AUTHOR_ID));
+        load(1L);
+        load(2L);
+
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void shouldHandOutCopiesOfCachedItem() {
+        ItemDetailsCache.Entry entry = cache.get(1L, id -> new ItemDetailsCache.Entry(item(id), Set.of(OWNER_ID)));
+
+        entry.copyOfItem().setName("Changed");
+
+        assertEquals("Drill", entry.copyOfItem().getName());
+    }
+
+    private void load(Long itemId) {
+        cache.get(itemId, id -> {
+            loads.incrementAndGet();
+            return new ItemDetailsCache.Entry(item(id), id == 1L ? Set.of(OWNER_ID, AUTHOR_ID) : Set.of(OWNER_ID));
+        });
+    }
+
+    private BookingEvent bookingEvent(Long itemId, BookingStatus status) {
+        BookingResponseDto booking = new BookingResponseDto(5L, LocalDateTime.now(), LocalDateTime.now().plusDays(1),
+                status, itemId, "Item", 2L, "Booker");
+        return new BookingEvent(booking, 1L);
+    }
+
+    private ItemDto item(Long id) {
+        ItemDto item = new ItemDto();
+        item.setId(id);
+        item.setName("Drill");
+        return item;
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.user.User;
+import ru.practicum.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Guards against loading comments, their authors or owners item by item: every list endpoint must cost the same
+ * number of statements no matter how many items and comments it returns.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@Transactional
+class ItemQueryCountTest {
+    private static final int ITEMS = 6;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User owner;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        owner = saveUser("owner@example.com");
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = new Item();
+            item.setName("Drill " + i);
+            item.setDescription("Counted drill");
+            item.setAvailable(true);
+            item.setOwner(i % 2 == 0 ? owner : saveUser("owner" + i + "@example.com"));
+            itemRepository.save(item);
+            for (int j = 0; j < 2; j++) {
+                Comment comment = new Comment();
+                comment.setItem(item);
+                comment.setAuthor(saveUser("author" + i + "-" + j + "@example.com"));
+                comment.setText("Fine");
+                comment.setCreated(LocalDateTime.now());
+                commentRepository.save(comment);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldLoadOwnerItemsWithCommentsInConstantNumberOfStatements() throws Exception {
+        List<ItemDto> items = itemService.getAll(owner.getId());
+        objectMapper.writeValueAsString(items);
+
+        assertEquals(3, items.size());
+        assertEquals(2, items.get(0).getComments().size());
+        assertEquals(2L, items.get(0).getCommentCount());
+        // user, items, last/next bookings, latest comments with counts
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldSearchItemsInConstantNumberOfStatements() throws Exception {
+        List<Item> items = itemService.search("counted", 0, 20);
+        objectMapper.writeValueAsString(items);
+
+        assertEquals(ITEMS, items.size());
+        // item text views with their owner ids
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private User saveUser(String email) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        return userRepository.save(user);
+    }
+}
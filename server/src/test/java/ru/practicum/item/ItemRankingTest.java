@@ -0,0 +1,63 @@
+package ru.practicum.item;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemRankingTest {
+
+    @Test
+    void shouldRankExactNameThenNameWordsThenDescription() {
+        ItemRanking ranking = ranking("drill", 0, 10);
+        ranking.offer(item(1L, "Saw", "Not a drill"));
+        ranking.offer(item(2L, "Cordless drill", "Battery"));
+        ranking.offer(item(3L, "Drill", "Corded"));
+        ranking.offer(item(4L, "Drills set", "Bits"));
+        ranking.offer(item(5L, "Bits", "For drills"));
+
+        assertEquals(List.of(3L, 2L, 4L, 1L, 5L), ids(ranking.page()));
+    }
+
+    @Test
+    void shouldKeepOnlyRequestedPageOfBestItems() {
+        ItemRanking ranking = ranking("drill", 1, 2);
+        for (long id = 1; id <= 100; id++) {
+            ranking.offer(item(id, "Tool " + id, "drill"));
+        }
+        ranking.offer(item(500L, "Drill", "Corded"));
+        ranking.offer(item(501L, "Hammer drill", "Corded"));
+
+        assertEquals(List.of(501L, 1L), ids(ranking.page()));
+    }
+
+    @Test
+    void shouldNotOverflowCapacityOfDeepPage() {
+        ItemRanking ranking = ranking("drill", Integer.MAX_VALUE, Integer.MAX_VALUE);
+        ranking.offer(item(1L, "Drill", "Corded"));
+
+        assertEquals(List.of(), ranking.page());
+    }
+
+    @Test
+    void shouldSplitTextIntoDistinctLowerCaseWords() {
+        assertEquals(List.of("дрель", "makita", "18v"), ItemRanking.words("Дрель, Makita 18V дрель!"));
+    }
+
+    private ItemRanking ranking(String text, int from, int size) {
+        return new ItemRanking(text, ItemRanking.words(text), from, size);
+    }
+
+    private List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).toList();
+    }
+
+    private Item item(Long id, String name, String description) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        return item;
+    }
+}
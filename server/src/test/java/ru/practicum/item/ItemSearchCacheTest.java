@@ -0,0 +1,93 @@
+package ru.practicum.item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemSearchCacheTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ItemSearchCache cache = new ItemSearchCache(meterRegistry, 100, Duration.ofMinutes(10));
+    private final AtomicInteger searches = new AtomicInteger();
+
+    @Test
+    void shouldServeRepeatedQueryFromCacheRegardlessOfCaseAndSpacing() {
+        search("Cordless  drill");
+        search(" cordless DRILL ");
+
+        assertEquals(1, searches.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "itemSearch").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void shouldSearchWithTheNormalizedTextOfTheCacheKey() {
+        List<String> searched = new ArrayList<>();
+
+        cache.get(" Cordless  DRILL ", 0, 10, text -> {
+            searched.add(text);
+            return List.of();
+        });
+
+        assertEquals(List.of("cordless drill"), searched);
+    }
+
+    @Test
+    void shouldEvictOnlyQueriesMatchingOldOrNewItemText() {
+        search("drill");
+        search("saw");
+        search("cordless drill");
+        search("screwdriver");
+
+        cache.onItemChanged(new ItemEvent(item("Screwdriver", "Cordless"), item("Drill", "Cordless")));
+        search("drill");
+        search("saw");
+        search("cordless drill");
+        search("screwdriver");
+
+        assertEquals(7, searches.get());
+    }
+
+    @Test
+    void shouldEvictNegatedQueriesOnAnyChange() {
+        search("drill -cordless");
+
+        cache.onItemChanged(new ItemEvent(item("Saw", "Hand saw"), null));
+        search("drill -cordless");
+
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    void shouldNotKeepResultComputedWhileItemChanged() {
+        cache.get("drill", 0, 10, text -> {
+            cache.onItemChanged(new ItemEvent(item("Saw", "Hand saw"), null));
+            return List.of();
+        });
+        search("drill");
+
+        assertEquals(1, searches.get());
+    }
+
+    private void search(String text) {
+        cache.get(text, 0, 10, normalized -> {
+            searches.incrementAndGet();
+            return List.of();
+        });
+    }
+
+    private ItemDto item(String name, String description) {
+        ItemDto item = new ItemDto();
+        item.setId(1L);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(true);
+        return item;
+    }
+}
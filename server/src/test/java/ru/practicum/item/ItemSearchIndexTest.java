@@ -0,0 +1,138 @@
+package ru.practicum.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+    private static final Long OWNER_ID = 1L;
+    private static final Long OTHER_OWNER_ID = 2L;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex(itemRepository);
+    }
+
+    @Test
+    void shouldFindWarmedUpItemsContainingAllWords() {
+        when(itemRepository.findByAvailableTrue()).thenReturn(List.of(
+                view(1L, "Cordless drill", "Drill with battery"),
+                view(2L, "Hammer drill", "Corded, for concrete"),
+                view(3L, "Saw", "Hand saw")));
+        index.warmUp();
+
+        assertEquals(List.of(1L, 2L), ids(index.search("DRILL", 0, 10)));
+        assertEquals(List.of(2L), ids(index.search("drill concrete", 0, 10)));
+        assertEquals(List.of(), ids(index.search("drill saw", 0, 10)));
+        assertEquals(List.of(), ids(index.search("  ", 0, 10)));
+    }
+
+    @Test
+    void shouldFollowItemChanges() {
+        when(itemRepository.findByAvailableTrue()).thenReturn(List.of());
+        index.warmUp();
+
+        index.onItemChanged(new ItemEvent(item(1L, "Drill", "Cordless", true), null));
+        index.onItemChanged(new ItemEvent(item(2L, "Drill", "Corded", true), null));
+        assertEquals(List.of(1L, 2L), ids(index.search("drill", 0, 10)));
+
+        index.onItemChanged(new ItemEvent(item(1L, "Screwdriver", "Cordless", true), item(1L, "Drill", "Cordless",
+                true)));
+        assertEquals(List.of(2L), ids(index.search("drill", 0, 10)));
+        assertEquals("Screwdriver", index.search("screwdriver", 0, 10).get(0).getName());
+
+        index.onItemChanged(new ItemEvent(item(2L, "Drill", "Corded", false), item(2L, "Drill", "Corded", true)));
+        assertEquals(List.of(), ids(index.search("drill", 0, 10)));
+
+        index.onItemChanged(new ItemEvent(item(2L, "Drill", "Corded", true), item(2L, "Drill", "Corded", false)));
+        assertEquals(List.of(2L), ids(index.search("drill", 0, 10)));
+    }
+
+    @Test
+    void shouldSuggestItemsSharingAnyWordBestFirst() {
+        when(itemRepository.findByAvailableTrue()).thenReturn(List.of(
+                view(1L, "Hammer", "Claw hammer"),
+                view(2L, "Cordless drill", "Drill with battery"),
+                view(3L, "Drill bits", "For wood"),
+                view(4L, "Saw", "Hand saw")));
+        index.warmUp();
+
+        assertEquals(List.of(2L, 3L), ids(index.suggest("Need a cordless drill", 10, null)));
+        assertEquals(List.of(2L), ids(index.suggest("Need a cordless drill", 1, null)));
+        assertEquals(List.of(), ids(index.suggest("Need a ladder", 10, null)));
+    }
+
+    @Test
+    void shouldSuggestByRareWordsIgnoringStopWordsAndOwnItems() {
+        when(itemRepository.findByAvailableTrue()).thenReturn(List.of(
+                view(1L, "Box for the tools", "Keeps all the tools"),
+                view(2L, "Drill", "Cordless"),
+                view(3L, "Tool bag", "For the tools"),
+                view(4L, "Tools set", "Screwdrivers and tools"),
+                view(5L, "Drill", "Corded", OTHER_OWNER_ID)));
+        index.warmUp();
+
+        assertEquals(List.of(2L), ids(index.suggest("A drill for the tools", 1, OTHER_OWNER_ID)));
+        assertEquals(List.of(2L, 1L, 4L, 3L), ids(index.suggest("A drill for the tools", 10, OTHER_OWNER_ID)));
+        assertEquals(List.of(), ids(index.suggest("For the", 10, null)));
+    }
+
+    private List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).toList();
+    }
+
+    private ItemDto item(Long id, String name, String description, boolean available) {
+        ItemDto item = new ItemDto();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+
+    private ItemTextView view(Long id, String name, String description) {
+        return view(id, name, description, OWNER_ID);
+    }
+
+    private ItemTextView view(Long id, String name, String description, Long ownerId) {
+        return new ItemTextView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+
+            @Override
+            public Long getRequestId() {
+                return null;
+            }
+
+            @Override
+            public Long getOwnerId() {
+                return ownerId;
+            }
+        };
+    }
+}
@@ -6,10 +6,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.booking.Booking;
+import ru.practicum.booking.BookingRepository;
+import ru.practicum.booking.BookingStatus;
+import ru.practicum.exception.ValidationException;
 import ru.practicum.user.User;
 import ru.practicum.user.UserDto;
+import ru.practicum.user.UserRepository;
 import ru.practicum.user.UserService;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,6 +32,15 @@ public class ItemServiceImplIntegrationTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
     @Test
     void shouldAddNewItemSuccessfully() {
         UserDto owner = userService.addUser(createUserDto(null, "owner", "owner@email.com"));
@@ -64,11 +80,57 @@ public class ItemServiceImplIntegrationTest {
         itemService.addNew(owner.getId(), createItemDto(null, "item2", "description2",
                 null, true));
 
-        List<Item> items = itemService.getAll(owner.getId());
+        List<ItemDto> items = itemService.getAll(owner.getId());
 
         assertEquals(2, items.size(), "Owner should have 2 items");
     }
 
+    @Test
+    void shouldAddLastAndNextBookingsForOwnerOnly() throws BadRequestException {
+        UserDto owner = userService.addUser(createUserDto(null, "owner", "owner@email.com"));
+        UserDto booker = userService.addUser(createUserDto(null, "booker", "booker@email.com"));
+        ItemDto drill = itemService.addNew(owner.getId(), createItemDto(null, "Drill", "Cordless drill",
+                null, true));
+        ItemDto saw = itemService.addNew(owner.getId(), createItemDto(null, "Saw", "Hand saw", null, true));
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        saveBooking(drill.getId(), booker.getId(), now.minusDays(5), now.minusDays(4), BookingStatus.APPROVED);
+        saveBooking(drill.getId(), booker.getId(), now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED);
+        saveBooking(drill.getId(), booker.getId(), now.plusDays(2), now.plusDays(3), BookingStatus.APPROVED);
+        saveBooking(drill.getId(), booker.getId(), now.plusDays(1), now.plusDays(2), BookingStatus.REJECTED);
+        saveBooking(saw.getId(), booker.getId(), now.plusDays(4), now.plusDays(5), BookingStatus.APPROVED);
+
+        List<ItemDto> items = itemService.getAll(owner.getId());
+        ItemDto ownersDrill = items.stream().filter(item -> item.getId().equals(drill.getId())).findFirst().get();
+        ItemDto ownersSaw = items.stream().filter(item -> item.getId().equals(saw.getId())).findFirst().get();
+        ItemDto bookersDrill = itemService.getOne(drill.getId(), booker.getId()).get();
+
+        assertEquals(now.minusDays(2), ownersDrill.getLastBooking().getEnd());
+        assertEquals(now.plusDays(2), ownersDrill.getNextBooking().getStart());
+        assertNull(ownersSaw.getLastBooking());
+        assertEquals(now.plusDays(4), ownersSaw.getNextBooking().getStart());
+        assertNull(bookersDrill.getLastBooking());
+        assertNull(bookersDrill.getNextBooking());
+    }
+
+    @Test
+    void shouldNotShowOwnersBookingsToLaterViewers() throws BadRequestException {
+        UserDto owner = userService.addUser(createUserDto(null, "owner", "owner@email.com"));
+        UserDto booker = userService.addUser(createUserDto(null, "booker", "booker@email.com"));
+        ItemDto drill = itemService.addNew(owner.getId(), createItemDto(null, "Drill", "Cordless drill",
+                null, true));
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        saveBooking(drill.getId(), booker.getId(), now.minusDays(3), now.minusDays(2), BookingStatus.APPROVED);
+        saveBooking(drill.getId(), booker.getId(), now.plusDays(2), now.plusDays(3), BookingStatus.APPROVED);
+
+        ItemDto ownersDrill = itemService.getOne(drill.getId(), owner.getId()).get();
+        ItemDto bookersDrill = itemService.getOne(drill.getId(), booker.getId()).get();
+
+        assertNotNull(ownersDrill.getLastBooking());
+        assertNotNull(ownersDrill.getNextBooking());
+        assertNull(bookersDrill.getLastBooking());
+        assertNull(bookersDrill.getNextBooking());
+    }
+
     @Test
     void shouldThrowWhenUpdatingItemOwnedByAnotherUser() {
         UserDto owner = userService.addUser(createUserDto(null, "owner", "owner@email.com"));
@@ -92,11 +154,63 @@ public class ItemServiceImplIntegrationTest {
         itemService.addNew(owner.getId(), createItemDto(null, "Wrench", "Another tool", null,
                 true));
 
-        List<Item> searchResults = itemService.search("tool");
+        List<Item> searchResults = itemService.search("tool", 0, 20);
 
         assertEquals(2, searchResults.size(), "Should find 2 items matching search");
     }
 
+    @Test
+    void shouldRejectSearchPagesBeyondMaxOffset() throws BadRequestException {
+        assertThrows(ValidationException.class, () -> itemService.search("tool", Integer.MAX_VALUE, 20));
+        assertEquals(List.of(), itemService.search("tool", 10_000, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void shouldAddValidBatchRowsAndReportInvalidOnes() throws BadRequestException {
+        UserDto owner = userService.addUser(createUserDto(null, "owner", "owner@email.com"));
+        ItemDto unknownRequest = createItemDto(null, "Saw", "Hand saw", null, true);
+        unknownRequest.setRequestId(Long.MAX_VALUE);
+
+        List<ItemBatchResultDto> results = itemService.addAll(owner.getId(), List.of(
+                createItemDto(null, "Drill", "Cordless drill", null, true),
+                createItemDto(null, "", "No name", null, true),
+                unknownRequest,
+                createItemDto(null, "Hammer", "Claw hammer", null, false)));
+
+        assertEquals(List.of(0, 1, 2, 3), results.stream().map(ItemBatchResultDto::getIndex).toList());
+        assertNotNull(results.get(0).getItem().getId());
+        assertEquals("Name must be 1 to 255 characters long", results.get(1).getError());
+        assertEquals("Request not found", results.get(2).getError());
+        assertEquals("Hammer", results.get(3).getItem().getName());
+        assertEquals(2, itemService.getAll(owner.getId()).size());
+    }
+
+    @Test
+    void shouldIgnoreClientIdsInBatch() throws BadRequestException {
+        UserDto owner = userService.addUser(createUserDto(null, "owner", "owner@email.com"));
+        UserDto other = userService.addUser(createUserDto(null, "other", "other@email.com"));
+        ItemDto existing = itemService.addNew(other.getId(), createItemDto(null, "Drill", "Cordless drill", null,
+                true));
+
+        List<ItemBatchResultDto> results = itemService.addAll(owner.getId(), List.of(
+                createItemDto(existing.getId(), "Saw", "Hand saw", null, true)));
+
+        assertNotEquals(existing.getId(), results.get(0).getItem().getId());
+        assertEquals("Drill", itemRepository.findById(existing.getId()).orElseThrow().getName());
+        assertEquals(other.getId(), itemRepository.findById(existing.getId()).orElseThrow().getOwner().getId());
+    }
+
+    private void saveBooking(Long itemId, Long bookerId, LocalDateTime start, LocalDateTime end,
+                             BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItem(itemRepository.getReferenceById(itemId));
+        booking.setBooker(userRepository.getReferenceById(bookerId));
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(status);
+        bookingRepository.save(booking);
+    }
+
     private ItemDto createItemDto(Long id, String name, String description, User owner, Boolean available) {
         ItemDto item = new ItemDto();
         item.setId(id);
@@ -0,0 +1,110 @@
+package ru.practicum.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.booking.BookingCalendar;
+import ru.practicum.booking.BookingRepository;
+import ru.practicum.config.AppConfig;
+import ru.practicum.request.RequestRepository;
+import ru.practicum.user.User;
+import ru.practicum.user.UserCache;
+import ru.practicum.user.UserRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemServiceImplTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RequestRepository requestRepository;
+
+    @Mock
+    private BookingCalendar bookingCalendar;
+
+    @Mock
+    private ItemSearch itemSearch;
+
+    @Mock
+    private ItemSearchCache itemSearchCache;
+
+    @Mock
+    private ItemDetailsCache itemDetailsCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ItemServiceImpl itemService;
+
+    @BeforeEach
+    void setUp() {
+        UserCache userCache = new UserCache(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+        itemService = new ItemServiceImpl(new AppConfig().modelMapper(), itemRepository, userCache, commentRepository,
+                bookingRepository, requestRepository, bookingCalendar, itemSearch, itemSearchCache, itemDetailsCache,
+                eventPublisher, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @Test
+    void shouldRetryRejectedBatchChunkRowByRow() {
+        User owner = new User();
+        owner.setId(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(owner));
+        AtomicLong ids = new AtomicLong();
+        when(itemRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Item> items = invocation.getArgument(0);
+            if (items.stream().anyMatch(item -> item.getName().equals("Broken"))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            items.forEach(item -> item.setId(ids.incrementAndGet()));
+            return items;
+        });
+
+        List<ItemBatchResultDto> results = itemService.addAll(1L, List.of(
+                item("Drill"), item("Broken"), item("Saw")));
+
+        assertEquals("Drill", results.get(0).getItem().getName());
+        assertNull(results.get(0).getError());
+        assertNull(results.get(1).getItem());
+        assertEquals("Item could not be saved", results.get(1).getError());
+        assertEquals("Saw", results.get(2).getItem().getName());
+        verify(itemRepository, times(4)).saveAll(anyList());
+    }
+
+    private ItemDto item(String name) {
+        ItemDto item = new ItemDto();
+        item.setName(name);
+        item.setDescription(name + " for rent");
+        item.setAvailable(true);
+        return item;
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.job;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class JobLeaseServiceTest {
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Test
+    void shouldGrantLeaseToOneInstanceUntilItExpires() {
+        JobLeaseService first = new JobLeaseService(jobLeaseRepository, "first");
+        JobLeaseService second = new JobLeaseService(jobLeaseRepository, "second");
+
+        assertTrue(first.tryAcquire("job", Duration.ofMinutes(5)));
+        assertFalse(second.tryAcquire("job", Duration.ofMinutes(5)));
+        assertTrue(first.tryAcquire("job", Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void shouldHandOverExpiredLease() {
+        JobLeaseService first = new JobLeaseService(jobLeaseRepository, "first");
+        JobLeaseService second = new JobLeaseService(jobLeaseRepository, "second");
+
+        assertTrue(first.tryAcquire("job", Duration.ZERO));
+        assertTrue(second.tryAcquire("job", Duration.ofMinutes(5)));
+        assertFalse(first.tryAcquire("job", Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void shouldHandOverReleasedLease() {
+        JobLeaseService first = new JobLeaseService(jobLeaseRepository, "first");
+        JobLeaseService second = new JobLeaseService(jobLeaseRepository, "second");
+
+        assertTrue(first.tryAcquire("job", Duration.ofMinutes(5)));
+        second.release("job");
+        assertFalse(second.tryAcquire("job", Duration.ofMinutes(5)));
+        first.release("job");
+        assertTrue(second.tryAcquire("job", Duration.ofMinutes(5)));
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.request;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.item.ItemDto;
+import ru.practicum.stream.EventStreamRegistry;
+import ru.practicum.user.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RequestMatcherTest {
+    private static final long OWNER_ID = 10L;
+    private static final long REQUESTOR_ID = 20L;
+
+    @Mock
+    private RequestRepository requestRepository;
+
+    @Mock
+    private EventStreamRegistry requestMatchStream;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        matcher = new RequestMatcher(requestRepository, requestMatchStream, meterRegistry, Duration.ofDays(30), 2, 1,
+                10);
+        when(requestRepository.findOpenRequests(any())).thenReturn(List.of());
+        matcher.warmUp();
+    }
+
+    @AfterEach
+    void tearDown() {
+        matcher.shutdown();
+    }
+
+    @Test
+    void shouldMatchOpenRequestsSharingEnoughWords() {
+        open(1L, REQUESTOR_ID, "Need a cordless drill for the weekend", LocalDateTime.now());
+        open(2L, REQUESTOR_ID, "Looking for a drill press", LocalDateTime.now());
+
+        List<RequestMatch> matches = matcher.match(item(100L, "Cordless drill", "Battery drill", null));
+
+        assertEquals(List.of(new RequestMatch(1L, 100L, "Cordless drill", OWNER_ID, false)), matches);
+        verify(requestMatchStream).publish(List.of(REQUESTOR_ID), RequestMatcher.EVENT_NAME, matches.get(0));
+        assertEquals(1.0, meterRegistry.get("shareit.requests.matching.matched").counter().count());
+    }
+
+    @Test
+    void shouldNotMatchByStopWordsOrWordsCommonToMostRequests() {
+        open(1L, REQUESTOR_ID, "Need a cordless drill for the weekend", LocalDateTime.now());
+        for (long id = 10; id < 30; id++) {
+            open(id, REQUESTOR_ID, "Need a tent for the weekend trip", LocalDateTime.now());
+        }
+
+        assertEquals(List.of(), matcher.match(item(100L, "Weekend bag", "For the trip you need", null)));
+        assertEquals(List.of(1L), matcher.match(item(101L, "Cordless drill", "For the weekend", null)).stream()
+                .map(RequestMatch::getRequestId).toList());
+    }
+
+    @Test
+    void shouldNotifyExplicitRequestEvenWhenItWasNotIndexed() {
+        when(requestRepository.findRequestorIdById(5L)).thenReturn(Optional.of(REQUESTOR_ID));
+
+        List<RequestMatch> matches = matcher.match(item(100L, "Ladder", "Tall", 5L));
+
+        assertEquals(List.of(new RequestMatch(5L, 100L, "Ladder", OWNER_ID, true)), matches);
+        verify(requestMatchStream).publish(List.of(REQUESTOR_ID), RequestMatcher.EVENT_NAME, matches.get(0));
+    }
+
+    @Test
+    void shouldSkipOwnAndExpiredRequests() {
+        open(1L, OWNER_ID, "Cordless drill", LocalDateTime.now());
+        open(2L, REQUESTOR_ID, "Cordless drill", LocalDateTime.now().minusDays(31));
+
+        assertEquals(List.of(), matcher.match(item(100L, "Cordless drill", "Battery drill", null)));
+
+        matcher.pruneExpired();
+        open(3L, REQUESTOR_ID, "Cordless drill", LocalDateTime.now());
+        assertEquals(List.of(3L), matcher.match(item(101L, "Cordless drill", "Battery drill", null)).stream()
+                .map(RequestMatch::getRequestId).toList());
+    }
+
+    @Test
+    void shouldNotMatchUnavailableItemsByWords() {
+        open(1L, REQUESTOR_ID, "Cordless drill", LocalDateTime.now());
+        ItemDto item = item(100L, "Cordless drill", "Battery drill", null);
+        item.setAvailable(false);
+
+        assertEquals(List.of(), matcher.match(item));
+        verify(requestMatchStream, never()).publish(any(), any(), any());
+    }
+
+    private void open(Long id, Long requestorId, String description, LocalDateTime created) {
+        RequestDto request = new RequestDto();
+        request.setId(id);
+        request.setRequestor(requestorId);
+        request.setDescription(description);
+        request.setCreated(created);
+        matcher.onRequestCreated(new RequestEvent(request));
+    }
+
+    private static ItemDto item(Long id, String name, String description, Long requestId) {
+        User owner = new User();
+        owner.setId(OWNER_ID);
+        ItemDto item = new ItemDto();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item.setRequestId(requestId);
+        return item;
+    }
+}
@@ -5,14 +5,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.item.ItemDto;
 import ru.practicum.item.ItemRepository;
+import ru.practicum.item.ItemService;
+import ru.practicum.pagination.KeysetPage;
 import ru.practicum.user.UserDto;
 import ru.practicum.user.UserService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 @ActiveProfiles("test")
 @SpringBootTest
@@ -28,6 +33,9 @@ public class RequestServiceImplIntegrationTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private ItemService itemService;
+
     @Autowired
     private RequestRepository requestRepository;
 
@@ -70,6 +78,57 @@ public class RequestServiceImplIntegrationTest {
         assertEquals("Need a drill", fetchedRequest.getDescription(), "Description should match");
     }
 
+    @Test
+    void shouldAttachResponsesToEachRequest() {
+        UserDto requestor = userService.addUser(createUserDto(null, "Requestor", "requestor@example.com"));
+        UserDto owner = userService.addUser(createUserDto(null, "Owner", "owner@example.com"));
+        Request hammerRequest = requestService.createRequest(requestor.getId(), createRequestDto(null, "Need a hammer"));
+        Request drillRequest = requestService.createRequest(requestor.getId(), createRequestDto(null, "Need a drill"));
+        ItemDto hammer = itemService.addNew(owner.getId(), createItemDto("Hammer", hammerRequest.getId()));
+        itemService.addNew(owner.getId(), createItemDto("Drill", drillRequest.getId()));
+        itemService.addNew(owner.getId(), createItemDto("Cordless drill", drillRequest.getId()));
+
+        List<RequestDto> requests = requestService.getOwnRequests(requestor.getId());
+
+        RequestDto hammerDto = requests.stream()
+                .filter(request -> request.getId().equals(hammerRequest.getId())).findFirst().orElseThrow();
+        RequestDto drillDto = requests.stream()
+                .filter(request -> request.getId().equals(drillRequest.getId())).findFirst().orElseThrow();
+        assertEquals(List.of(new Response(hammer.getId(), "Hammer", owner.getId())), hammerDto.getItems());
+        assertEquals(List.of("Drill", "Cordless drill"), drillDto.getItems().stream().map(Response::getName).toList());
+    }
+
+    @Test
+    void shouldPageOtherUsersRequestsNewestFirst() {
+        UserDto caller = userService.addUser(createUserDto(null, "Caller", "caller@example.com"));
+        UserDto other = userService.addUser(createUserDto(null, "Other", "other@example.com"));
+        LocalDateTime created = LocalDateTime.of(2030, 1, 1, 12, 0);
+        requestService.createRequest(caller.getId(), createRequestDto(null, "Own request", created.plusDays(5)));
+        Request oldest = requestService.createRequest(other.getId(), createRequestDto(null, "Oldest", created));
+        Request middle = requestService.createRequest(other.getId(),
+                createRequestDto(null, "Middle", created.plusDays(1)));
+        Request newest = requestService.createRequest(other.getId(),
+                createRequestDto(null, "Newest", created.plusDays(2)));
+
+        KeysetPage<RequestDto> firstPage = requestService.getAllRequests(caller.getId(), null, 2);
+        KeysetPage<RequestDto> secondPage = requestService.getAllRequests(caller.getId(), firstPage.getNextCursor(),
+                2);
+
+        assertEquals(List.of(newest.getId(), middle.getId()),
+                firstPage.getContent().stream().map(RequestDto::getId).toList());
+        assertEquals(List.of(oldest.getId()), secondPage.getContent().stream().map(RequestDto::getId).toList());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    private ItemDto createItemDto(String name, Long requestId) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setName(name);
+        itemDto.setDescription(name);
+        itemDto.setAvailable(true);
+        itemDto.setRequestId(requestId);
+        return itemDto;
+    }
+
     private RequestDto createRequestDto(Long id, String description) {
         RequestDto requestDto = new RequestDto();
         requestDto.setId(id);
@@ -77,6 +136,12 @@ public class RequestServiceImplIntegrationTest {
         return requestDto;
     }
 
+    private RequestDto createRequestDto(Long id, String description, LocalDateTime created) {
+        RequestDto requestDto = createRequestDto(id, description);
+        requestDto.setCreated(created);
+        return requestDto;
+    }
+
     private UserDto createUserDto(Long id, String name, String email) {
         UserDto userDto = new UserDto();
         userDto.setId(id);
@@ -1,21 +1,35 @@
 package ru.practicum.request;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import ru.practicum.exception.NotFoundException;
+import ru.practicum.item.Item;
 import ru.practicum.item.ItemRepository;
+import ru.practicum.item.ItemSearchIndex;
+import ru.practicum.pagination.Cursor;
+import ru.practicum.pagination.KeysetPage;
+import ru.practicum.stream.EventStreamRegistry;
 import ru.practicum.user.User;
+import ru.practicum.user.UserCache;
 import ru.practicum.user.UserRepository;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,11 +48,22 @@ public class RequestServiceImplTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EventStreamRegistry requestMatchStream;
+
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
     private RequestServiceImpl requestService;
 
     @BeforeEach
     void setup() {
-        requestService = new RequestServiceImpl(requestRepository, userRepository, itemRepository, modelMapper);
+        UserCache userCache = new UserCache(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+        requestService = new RequestServiceImpl(requestRepository, userCache, itemRepository, modelMapper,
+                eventPublisher, requestMatchStream, itemSearchIndex, 10);
     }
 
     @Test
@@ -51,16 +76,21 @@ public class RequestServiceImplTest {
         user.setId(userId);
         Request request = new Request();
         request.setDescription("Test description");
+        Item suggested = new Item();
+        suggested.setId(7L);
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(modelMapper.map(requestDto, Request.class)).thenReturn(request);
         when(requestRepository.save(request)).thenReturn(request);
+        when(itemSearchIndex.suggest("Test description", 10, userId)).thenReturn(List.of(suggested));
 
         Request result = requestService.createRequest(userId, requestDto);
 
         assertEquals("Test description", result.getDescription());
         assertEquals(user, result.getRequestor());
+        assertEquals(List.of(suggested), result.getSuggestions());
         verify(requestRepository).save(request);
+        verify(eventPublisher).publishEvent(any(RequestEvent.class));
     }
 
     @Test
@@ -115,12 +145,14 @@ public class RequestServiceImplTest {
 
         List<Request> requests = List.of(request1, request2);
 
-        when(requestRepository.findAll()).thenReturn(requests);
+        when(requestRepository.findOtherUsersRequests(eq(2L), any(), any(), any())).thenReturn(requests);
 
-        List<RequestDto> result = requestService.getAllRequests();
+        KeysetPage<RequestDto> result = requestService.getAllRequests(2L, null, 20);
 
-        assertEquals(2, result.size());
-        verify(requestRepository).findAll();
+        assertEquals(2, result.getContent().size());
+        assertNull(result.getNextCursor());
+        verify(requestRepository).findOtherUsersRequests(2L, Cursor.FIRST.getPosition(), Cursor.FIRST.getId(),
+                Limit.of(21));
     }
 
     @Test
@@ -136,7 +168,7 @@ public class RequestServiceImplTest {
         request.setRequestor(requestor);
 
         when(requestRepository.findById(requestId)).thenReturn(Optional.of(request));
-        when(itemRepository.findAllByRequestId(requestId)).thenReturn(List.of());
+        when(itemRepository.findResponsesByRequestIds(List.of(requestId))).thenReturn(List.of());
 
         RequestDto result = requestService.getRequestById(requestId);
 
@@ -144,6 +176,28 @@ public class RequestServiceImplTest {
         verify(requestRepository).findById(requestId);
     }
 
+    @Test
+    void shouldSuggestItemsForStoredDescription() {
+        Item drill = new Item();
+        drill.setId(7L);
+
+        OpenRequestView request = mock(OpenRequestView.class);
+        when(request.getDescription()).thenReturn("Need a drill");
+        when(request.getRequestorId()).thenReturn(3L);
+
+        when(requestRepository.findViewById(1L)).thenReturn(Optional.of(request));
+        when(itemSearchIndex.suggest("Need a drill", 5, 3L)).thenReturn(List.of(drill));
+
+        assertEquals(List.of(drill), requestService.getSuggestions(1L, 5));
+    }
+
+    @Test
+    void shouldThrowNotFoundExceptionWhenSuggestingForMissingRequest() {
+        when(requestRepository.findViewById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> requestService.getSuggestions(1L, 5));
+    }
+
     @Test
     void shouldThrowNotFoundExceptionWhenRequestNotFound() {
         Long requestId = 1L;
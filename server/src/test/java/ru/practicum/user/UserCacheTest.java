@@ -0,0 +1,119 @@
+package ru.practicum.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.exception.NotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserCache(userRepository, meterRegistry, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void shouldLoadUserOnceAndReturnCopies() {
+        User user = user(1L, "Owner");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        User first = cache.findById(1L).orElseThrow();
+        User second = cache.findById(1L).orElseThrow();
+        second.setName("Changed");
+
+        assertEquals(user, first);
+        assertNotSame(user, second);
+        assertEquals("Owner", cache.findById(1L).orElseThrow().getName());
+        verify(userRepository, times(1)).findById(1L);
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void shouldFindUserAddedElsewhereWithoutEviction() {
+        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+        assertFalse(cache.existsById(2L));
+
+        when(userRepository.findById(2L)).thenReturn(Optional.of(user(2L, "New")));
+
+        assertTrue(cache.existsById(2L));
+    }
+
+    @Test
+    void shouldReportUserRemovedElsewhereWhenWriteFails() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, "Owner")));
+        assertTrue(cache.existsById(1L));
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.existsByIdInNewTransaction(1L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> cache.write(1L, () -> {
+            throw new DataIntegrityViolationException("fk_item_user_id");
+        }));
+        assertFalse(cache.existsById(1L));
+    }
+
+    @Test
+    void shouldRethrowWriteFailureOfExistingUser() {
+        when(userRepository.existsByIdInNewTransaction(1L)).thenReturn(true);
+
+        assertThrows(DataIntegrityViolationException.class, () -> cache.write(1L, () -> {
+            throw new DataIntegrityViolationException("value too long");
+        }));
+    }
+
+    @Test
+    void shouldReloadUserAfterChange() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, "Old")));
+        cache.findById(1L);
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(1L, "New")));
+        cache.onUserChanged(new UserEvent(1L));
+
+        assertEquals("New", cache.findById(1L).orElseThrow().getName());
+    }
+
+    @Test
+    void shouldNotKeepUserLoadedWhileItChanged() {
+        when(userRepository.findById(1L)).thenAnswer(invocation -> {
+            cache.onUserChanged(new UserEvent(1L));
+            return Optional.of(user(1L, "Old"));
+        });
+
+        cache.findById(1L);
+        cache.findById(1L);
+
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    private static User user(Long id, String name) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(name.toLowerCase() + "@example.com");
+        return user;
+    }
+}
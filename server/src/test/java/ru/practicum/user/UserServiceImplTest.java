@@ -7,6 +7,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import ru.practicum.exception.EmailAlreadyExistsException;
 import ru.practicum.exception.NotFoundException;
 
@@ -25,6 +26,9 @@ class UserServiceImplTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -125,6 +129,7 @@ class UserServiceImplTest {
 
         assertEquals(user, result);
         verify(userRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(any(UserEvent.class));
     }
 
     @Test